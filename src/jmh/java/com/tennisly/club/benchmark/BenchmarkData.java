@@ -0,0 +1,108 @@
+package com.tennisly.club.benchmark;
+
+import com.tennisly.club.domain.Authority;
+import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.Cord;
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.User;
+import com.tennisly.club.domain.enumeration.ChallengeStatus;
+import com.tennisly.club.domain.enumeration.Gender;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import com.tennisly.club.domain.enumeration.Level;
+import com.tennisly.club.security.AuthoritiesConstants;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Entities as the application loads them, with fixed values so that runs can be compared.
+ */
+final class BenchmarkData {
+
+    /** The size of an uploaded photo, as the web application sends it after resizing. */
+    static final int PHOTO_SIZE = 64 * 1024;
+
+    private static final Instant CREATED_DATE = Instant.parse("2026-01-01T10:00:00Z");
+
+    private BenchmarkData() {}
+
+    static List<User> users(int count) {
+        Authority userAuthority = new Authority();
+        userAuthority.setName(AuthoritiesConstants.USER);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setLogin("player" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("player" + i + "@tennisly.club");
+            user.setActivated(true);
+            user.setLangKey(i % 2 == 0 ? "en" : "tr");
+            user.setCreatedBy("system");
+            user.setCreatedDate(CREATED_DATE);
+            user.setLastModifiedBy("system");
+            user.setLastModifiedDate(CREATED_DATE);
+            user.setAuthorities(Set.of(userAuthority));
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * @param withPhotos whether the players still hold the bytes of an uploaded photo.
+     */
+    static List<Player> players(List<User> users, boolean withPhotos) {
+        Random random = new Random(42);
+        List<Player> players = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            Player player = new Player()
+                .id((long) i + 1)
+                .fullName(users.get(i).getFirstName() + " " + users.get(i).getLastName())
+                .gender(Gender.values()[i % Gender.values().length])
+                .level(Level.values()[i % Level.values().length])
+                .phone("+90555" + String.format("%07d", i))
+                .photoId(String.format("%064x", i))
+                .photoContentType("image/jpeg")
+                .status(GeneralStatus.ACTIVE)
+                .rating(1500 + i)
+                .internalUser(users.get(i));
+            if (withPhotos) {
+                byte[] photo = new byte[PHOTO_SIZE];
+                random.nextBytes(photo);
+                player.setPhoto(photo);
+            }
+            players.add(player);
+        }
+        return players;
+    }
+
+    static List<Challenge> challenges(List<Player> players) {
+        Cord cord = new Cord()
+            .id(1L)
+            .name("Central Court")
+            .adress("Tennis Club, Istanbul")
+            .imageId(String.format("%064x", 1))
+            .imageContentType("image/jpeg")
+            .status(GeneralStatus.ACTIVE)
+            .latitude(41.0)
+            .longitude(29.0);
+        List<Challenge> challenges = new ArrayList<>(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            challenges.add(
+                new Challenge()
+                    .id((long) i + 1)
+                    .matchTime(CREATED_DATE.plus(i, ChronoUnit.HOURS))
+                    .challengeStatus(ChallengeStatus.values()[i % ChallengeStatus.values().length])
+                    .status(GeneralStatus.ACTIVE)
+                    .cord(cord)
+                    .proposer(players.get(i))
+                    .acceptor(players.get((i + 1) % players.size()))
+            );
+        }
+        return challenges;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tennisly.club.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tennisly.club.domain.enumeration.ChallengeStatus;
+import com.tennisly.club.domain.enumeration.Level;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+/**
+ * The cost of mapping {@link Level} and {@link ChallengeStatus} between their names and values: from request
+ * parameters with Spring's conversion, from and to JSON with Jackson, and from and to their columns as JPA does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnumMappingBenchmark {
+
+    private static final Level[] LEVELS = Level.values();
+
+    private static final ChallengeStatus[] CHALLENGE_STATUSES = ChallengeStatus.values();
+
+    private ConversionService conversionService;
+
+    private ObjectMapper objectMapper;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        conversionService = new DefaultFormattingConversionService();
+        objectMapper = new ObjectMapper();
+    }
+
+    @Benchmark
+    public void requestParameter(Blackhole blackhole) {
+        int i = next++;
+        blackhole.consume(conversionService.convert(level(i).name(), Level.class));
+        blackhole.consume(conversionService.convert(challengeStatus(i).name(), ChallengeStatus.class));
+    }
+
+    @Benchmark
+    public void json(Blackhole blackhole) throws Exception {
+        int i = next++;
+        blackhole.consume(objectMapper.readValue(objectMapper.writeValueAsString(level(i)), Level.class));
+        blackhole.consume(objectMapper.readValue(objectMapper.writeValueAsString(challengeStatus(i)), ChallengeStatus.class));
+    }
+
+    @Benchmark
+    public void column(Blackhole blackhole) {
+        int i = next++;
+        blackhole.consume(Level.valueOf(level(i).name()));
+        blackhole.consume(ChallengeStatus.valueOf(challengeStatus(i).name()));
+    }
+
+    private static Level level(int i) {
+        return LEVELS[Math.floorMod(i, LEVELS.length)];
+    }
+
+    private static ChallengeStatus challengeStatus(int i) {
+        return CHALLENGE_STATUSES[Math.floorMod(i, CHALLENGE_STATUSES.length)];
+    }
+}
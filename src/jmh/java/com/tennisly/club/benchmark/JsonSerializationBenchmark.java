@@ -0,0 +1,108 @@
+package com.tennisly.club.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tennisly.club.config.JacksonConfiguration;
+import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.User;
+import com.tennisly.club.service.dto.AdminUserDTO;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * The cost of writing a page of players, challenges and admin users as the REST controllers do, and of reading a
+ * player sent by the web application.
+ * <p>
+ * Photos are write-only: with {@code photos}, the players hold the bytes of an uploaded photo, which must not change
+ * the cost of writing them, and the player which is read carries one in Base64.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    /** The default size of the pages of the REST controllers. */
+    private static final int PAGE_SIZE = 20;
+
+    @Param({ "false", "true" })
+    public boolean photos;
+
+    private ObjectMapper objectMapper;
+
+    private List<Player> players;
+
+    private List<Challenge> challenges;
+
+    private List<AdminUserDTO> adminUsers;
+
+    private byte[] playerJson;
+
+    @Setup
+    public void setup() throws Exception {
+        // the modules and features of the application's ObjectMapper
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper =
+            Jackson2ObjectMapperBuilder
+                .json()
+                .modules(
+                    jacksonConfiguration.javaTimeModule(),
+                    jacksonConfiguration.jdk8TimeModule(),
+                    jacksonConfiguration.hibernate5Module(),
+                    jacksonConfiguration.problemModule(),
+                    jacksonConfiguration.constraintViolationProblemModule()
+                )
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+
+        List<User> users = BenchmarkData.users(PAGE_SIZE);
+        players = BenchmarkData.players(users, photos);
+        challenges = BenchmarkData.challenges(players);
+        adminUsers = users.stream().map(AdminUserDTO::new).collect(Collectors.toList());
+
+        Map<String, Object> player = objectMapper.convertValue(players.get(0), new TypeReference<>() {});
+        if (photos) {
+            player.put("photo", Base64.getEncoder().encodeToString(players.get(0).getPhoto()));
+        }
+        playerJson = objectMapper.writeValueAsBytes(player);
+    }
+
+    @Benchmark
+    public byte[] writePlayers() throws Exception {
+        return objectMapper.writeValueAsBytes(players);
+    }
+
+    @Benchmark
+    public byte[] writeChallenges() throws Exception {
+        return objectMapper.writeValueAsBytes(challenges);
+    }
+
+    @Benchmark
+    public byte[] writeAdminUsers() throws Exception {
+        return objectMapper.writeValueAsBytes(adminUsers);
+    }
+
+    @Benchmark
+    public Player readPlayer() throws Exception {
+        return objectMapper.readValue(playerJson, Player.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.tennisly.club.benchmark;
+
+import com.tennisly.club.domain.User;
+import com.tennisly.club.service.MailTemplateRenderer;
+import com.tennisly.club.service.MailTemplateRenderer.RenderedMail;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * The cost of rendering a password reset mail: with Thymeleaf for each mail, as {@code MailService} did, compiled by
+ * {@link MailTemplateRenderer}, and for a batch of users. Scores are per mail.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MailRenderingBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String TEMPLATE = "mail/passwordResetEmail";
+
+    private static final String TITLE_KEY = "email.reset.title";
+
+    private static final String BASE_URL = "http://127.0.0.1:8080";
+
+    private SpringTemplateEngine templateEngine;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private MailTemplateRenderer renderer;
+
+    private List<User> users;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode("HTML");
+        templateResolver.setCharacterEncoding("UTF-8");
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl(BASE_URL);
+        renderer = new MailTemplateRenderer(jHipsterProperties, messageSource, templateEngine, new ThymeleafProperties());
+
+        users = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            User user = new User();
+            user.setLogin("player" + i);
+            user.setEmail("player" + i + "@tennisly.club");
+            user.setLangKey(i % 2 == 0 ? "en" : "tr");
+            user.setResetKey(String.format("%020d", i));
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public void thymeleaf(Blackhole blackhole) {
+        User user = nextUser();
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        Context context = new Context(locale);
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", BASE_URL);
+        blackhole.consume(templateEngine.process(TEMPLATE, context));
+        blackhole.consume(messageSource.getMessage(TITLE_KEY, null, locale));
+    }
+
+    @Benchmark
+    public RenderedMail compiled() {
+        return renderer.render(nextUser(), TEMPLATE, TITLE_KEY);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<RenderedMail> batch() {
+        return renderer.renderAll(users, TEMPLATE, TITLE_KEY);
+    }
+
+    private User nextUser() {
+        next = (next + 1) % BATCH_SIZE;
+        return users.get(next);
+    }
+}
@@ -0,0 +1,77 @@
+package com.tennisly.club.benchmark;
+
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.enumeration.Gender;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import com.tennisly.club.domain.enumeration.Level;
+import com.tennisly.club.service.PlayerQueryService;
+import com.tennisly.club.service.criteria.PlayerCriteria;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * The cost of building the {@link Specification} of a players query from its criteria, without the database: with no
+ * criteria, and with those of a search for opponents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerSpecificationBenchmark {
+
+    private SpecificationBuilder specificationBuilder;
+
+    private PlayerCriteria emptyCriteria;
+
+    private PlayerCriteria searchCriteria;
+
+    @Setup
+    public void setup() {
+        specificationBuilder = new SpecificationBuilder();
+        emptyCriteria = new PlayerCriteria();
+        searchCriteria = new PlayerCriteria();
+        searchCriteria.fullName().setContains("ahmet");
+        searchCriteria.gender().setEquals(Gender.MAN);
+        searchCriteria.level().setIn(List.of(Level.INTERMEDIATE, Level.ADVANCED));
+        searchCriteria.status().setEquals(GeneralStatus.ACTIVE);
+        searchCriteria.internalUserId().setSpecified(true);
+        searchCriteria.setDistinct(true);
+    }
+
+    @Benchmark
+    public Specification<Player> emptyCriteria() {
+        return specificationBuilder.build(emptyCriteria);
+    }
+
+    @Benchmark
+    public Specification<Player> searchCriteria() {
+        return specificationBuilder.build(searchCriteria);
+    }
+
+    /**
+     * Opens {@code createSpecification}, which does not use the repository nor the current player.
+     */
+    private static final class SpecificationBuilder extends PlayerQueryService {
+
+        SpecificationBuilder() {
+            super(null, null);
+        }
+
+        Specification<Player> build(PlayerCriteria criteria) {
+            return createSpecification(criteria);
+        }
+    }
+}
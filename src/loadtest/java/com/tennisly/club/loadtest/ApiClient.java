@@ -0,0 +1,121 @@
+package com.tennisly.club.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Calls the REST API with the JDK {@link HttpClient}, sending and reading JSON.
+ */
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient httpClient;
+
+    ApiClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * Send a request and read its response, whatever its status.
+     *
+     * @param method the HTTP method.
+     * @param path the path and query, relative to the base URL.
+     * @param token the JWT of the user, or {@code null} for an anonymous call.
+     * @param body the object sent as JSON, or {@code null}.
+     * @return the response.
+     */
+    Response send(String method, String path, String token, Object body) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest
+            .newBuilder(baseUri.resolve(path.startsWith("/") ? path.substring(1) : path))
+            .timeout(TIMEOUT)
+            .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json");
+                request.method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            byte[] content = response.body();
+            JsonNode json = content.length > 0 && isJson(response) ? objectMapper.readTree(content) : null;
+            boolean rateLimited = response.headers().firstValue("RateLimit-Limit").isPresent();
+            return new Response(method + " " + path, response.statusCode(), rateLimited, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(method + " " + path + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isJson(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Type").map(type -> type.contains("json")).orElse(false);
+    }
+
+    /**
+     * The status and JSON body of a response.
+     */
+    static final class Response {
+
+        private final String request;
+
+        private final int status;
+
+        private final boolean rateLimited;
+
+        private final JsonNode body;
+
+        Response(String request, int status, boolean rateLimited, JsonNode body) {
+            this.request = request;
+            this.status = status;
+            this.rateLimited = rateLimited;
+            this.body = body;
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+
+        /**
+         * @return whether the application limits the rate of this request, which would measure the limit instead of
+         * the application.
+         */
+        boolean isRateLimited() {
+            return rateLimited;
+        }
+
+        JsonNode getBody() {
+            return body;
+        }
+
+        /**
+         * @return the body of a successful response.
+         * @throws IllegalStateException if the response is not successful.
+         */
+        JsonNode expectSuccess() {
+            if (!isSuccessful()) {
+                throw new IllegalStateException(request + " returned " + status + (body != null ? ": " + body : ""));
+            }
+            return body;
+        }
+    }
+}
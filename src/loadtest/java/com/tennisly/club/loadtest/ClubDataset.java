@@ -0,0 +1,276 @@
+package com.tennisly.club.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A synthetic club of players and courts, made through the API and the same for every run with the same seed.
+ * <p>
+ * The club is only added to: members and courts which exist from a previous run are found and used again, so that
+ * the data grows with the challenges of each run, as in production, but the members and courts stay the same.
+ */
+final class ClubDataset {
+
+    private static final String[] FIRST_NAMES = {
+        "Ahmet",
+        "Ayşe",
+        "Mehmet",
+        "Elif",
+        "Mustafa",
+        "Zeynep",
+        "Can",
+        "Deniz",
+        "Emre",
+        "Selin",
+        "Burak",
+        "Ece",
+        "Murat",
+        "Defne",
+        "Kerem",
+        "Naz",
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Yılmaz",
+        "Kaya",
+        "Demir",
+        "Şahin",
+        "Çelik",
+        "Yıldız",
+        "Aydın",
+        "Öztürk",
+        "Arslan",
+        "Doğan",
+        "Koç",
+        "Kurt",
+    };
+
+    static final String[] LEVELS = { "BEGINNER", "INTERMEDIATE", "ADVANCED", "PROFICIENT" };
+
+    static final String[] GENDERS = { "MAN", "WOMEN" };
+
+    /** The time between two match times given out, longer than a match so that challenges never overlap. */
+    private static final Duration SLOT = Duration.ofHours(2);
+
+    private final List<Member> members;
+
+    private final List<Long> cordIds;
+
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    private final Instant firstMatchTime;
+
+    private ClubDataset(List<Member> members, List<Long> cordIds, Instant firstMatchTime) {
+        this.members = members;
+        this.cordIds = cordIds;
+        this.firstMatchTime = firstMatchTime;
+    }
+
+    /**
+     * Find or make the members and courts of the club.
+     *
+     * @param api the API.
+     * @param adminToken the JWT of an administrator, to activate the members.
+     * @param settings the settings, with the seed and the size of the club.
+     * @param threads the number of members made at once.
+     * @return the club.
+     */
+    static ClubDataset seed(ApiClient api, String adminToken, LoadTestSettings settings, int threads) throws Exception {
+        Random random = new Random(settings.getSeed());
+        List<Long> cordIds = new ArrayList<>();
+        for (int i = 0; i < settings.getInt("loadtest.cords"); i++) {
+            cordIds.add(findOrCreateCord(api, adminToken, i, random));
+        }
+
+        int playerCount = settings.getInt("loadtest.players");
+        List<Map<String, String>> profiles = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            profiles.add(
+                Map.of(
+                    "login",
+                    "loadtest-" + settings.getSeed() + "-" + i,
+                    "fullName",
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    "gender",
+                    GENDERS[random.nextInt(GENDERS.length)],
+                    "level",
+                    LEVELS[random.nextInt(LEVELS.length)]
+                )
+            );
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Member>> futures = new ArrayList<>();
+            for (Map<String, String> profile : profiles) {
+                futures.add(executor.submit(() -> findOrCreateMember(api, adminToken, profile)));
+            }
+            List<Member> members = new ArrayList<>(playerCount);
+            for (Future<Member> future : futures) {
+                members.add(future.get());
+            }
+            List<Future<Instant>> latestMatchTimes = new ArrayList<>();
+            for (Member member : members) {
+                latestMatchTimes.add(executor.submit(() -> latestMatchTime(api, member)));
+            }
+            Instant after = Instant.now().plus(Duration.ofDays(30));
+            for (Future<Instant> future : latestMatchTimes) {
+                Instant latestMatchTime = future.get();
+                if (latestMatchTime != null && latestMatchTime.isAfter(after)) {
+                    after = latestMatchTime;
+                }
+            }
+            return new ClubDataset(
+                Collections.unmodifiableList(members),
+                Collections.unmodifiableList(cordIds),
+                after.truncatedTo(ChronoUnit.HOURS).plus(SLOT)
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    List<Member> getMembers() {
+        return members;
+    }
+
+    List<Long> getCordIds() {
+        return cordIds;
+    }
+
+    /**
+     * @return a match time which no other challenge of the club has.
+     */
+    Instant nextMatchTime() {
+        return firstMatchTime.plus(SLOT.multipliedBy(nextSlot.getAndIncrement()));
+    }
+
+    /**
+     * @return the latest match time of the challenges of a member, or {@code null} if there are none; the challenges of
+     * the club are all between its members, so the next match time is after the latest of them all.
+     */
+    private static Instant latestMatchTime(ApiClient api, Member member) throws InterruptedException {
+        JsonNode latest = api.send("GET", "/api/challenges?sort=matchTime,desc&size=1", member.getToken(), null).expectSuccess();
+        if (latest.size() == 0 || !latest.get(0).hasNonNull("matchTime")) {
+            return null;
+        }
+        return Instant.parse(latest.get(0).get("matchTime").asText());
+    }
+
+    private static long findOrCreateCord(ApiClient api, String adminToken, int index, Random random) throws InterruptedException {
+        String name = "Load Test Court " + (index + 1);
+        JsonNode found = api.send("GET", "/api/cords?name.equals=" + name.replace(' ', '+'), adminToken, null).expectSuccess();
+        if (found.size() > 0) {
+            return found.get(0).get("id").asLong();
+        }
+        ObjectNode cord = JsonNodeFactory.instance.objectNode();
+        cord.put("name", name);
+        cord.put("adress", "Load Test Club, court " + (index + 1));
+        cord.put("status", "ACTIVE");
+        cord.put("latitude", 41.0 + random.nextDouble() / 10);
+        cord.put("longitude", 29.0 + random.nextDouble() / 10);
+        return api.send("POST", "/api/cords", adminToken, cord).expectSuccess().get("id").asLong();
+    }
+
+    private static Member findOrCreateMember(ApiClient api, String adminToken, Map<String, String> profile) throws InterruptedException {
+        String login = profile.get("login");
+        String password = login + "-password";
+
+        ObjectNode account = JsonNodeFactory.instance.objectNode();
+        account.put("login", login);
+        account.put("email", login + "@loadtest.tennisly.club");
+        account.put("password", password);
+        account.put("langKey", "en");
+        ApiClient.Response registered = api.send("POST", "/api/register", null, account);
+        if (!registered.isSuccessful() && registered.getStatus() != 400) {
+            registered.expectSuccess();
+        }
+
+        // registered accounts are activated by mail: the administrator activates them instead
+        ObjectNode user = (ObjectNode) api.send("GET", "/api/admin/users/" + login, adminToken, null).expectSuccess();
+        if (!user.get("activated").asBoolean()) {
+            user.put("activated", true);
+            api.send("PUT", "/api/admin/users", adminToken, user).expectSuccess();
+        }
+        long userId = user.get("id").asLong();
+        String token = authenticate(api, login, password);
+
+        JsonNode players = api.send("GET", "/api/players?internalUserId.equals=" + userId, adminToken, null).expectSuccess();
+        long playerId;
+        if (players.size() > 0) {
+            playerId = players.get(0).get("id").asLong();
+        } else {
+            ObjectNode player = JsonNodeFactory.instance.objectNode();
+            player.put("fullName", profile.get("fullName"));
+            player.put("gender", profile.get("gender"));
+            player.put("level", profile.get("level"));
+            player.put("status", "ACTIVE");
+            player.putObject("internalUser").put("id", userId);
+            playerId = api.send("POST", "/api/players", token, player).expectSuccess().get("id").asLong();
+        }
+        return new Member(login, password, profile.get("fullName"), playerId, token);
+    }
+
+    static String authenticate(ApiClient api, String login, String password) throws InterruptedException {
+        ObjectNode credentials = JsonNodeFactory.instance.objectNode();
+        credentials.put("username", login);
+        credentials.put("password", password);
+        return api.send("POST", "/api/authenticate", null, credentials).expectSuccess().get("id_token").asText();
+    }
+
+    /**
+     * A member of the club: a user with a player, and a token to call the API as that user.
+     */
+    static final class Member {
+
+        private final String login;
+
+        private final String password;
+
+        private final String fullName;
+
+        private final long playerId;
+
+        private final String token;
+
+        Member(String login, String password, String fullName, long playerId, String token) {
+            this.login = login;
+            this.password = password;
+            this.fullName = fullName;
+            this.playerId = playerId;
+            this.token = token;
+        }
+
+        String getLogin() {
+            return login;
+        }
+
+        String getPassword() {
+            return password;
+        }
+
+        String getFullName() {
+            return fullName;
+        }
+
+        long getPlayerId() {
+            return playerId;
+        }
+
+        String getToken() {
+            return token;
+        }
+    }
+}
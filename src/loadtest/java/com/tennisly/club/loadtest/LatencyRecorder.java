@@ -0,0 +1,78 @@
+package com.tennisly.club.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The latencies and errors of scenarios and requests, recorded by one virtual user, and then merged.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Latencies> latencies = new TreeMap<>();
+
+    private final Map<String, Integer> errors = new TreeMap<>();
+
+    void record(String name, long nanos) {
+        latencies.computeIfAbsent(name, n -> new Latencies()).add(nanos);
+    }
+
+    void recordError(String name) {
+        errors.merge(name, 1, Integer::sum);
+    }
+
+    void merge(LatencyRecorder other) {
+        other.latencies.forEach((name, values) -> latencies.computeIfAbsent(name, n -> new Latencies()).addAll(values));
+        other.errors.forEach((name, count) -> errors.merge(name, count, Integer::sum));
+    }
+
+    Map<String, Latencies> getLatencies() {
+        return latencies;
+    }
+
+    int getErrors(String name) {
+        return errors.getOrDefault(name, 0);
+    }
+
+    /**
+     * The latencies of a scenario or a request, in nanoseconds.
+     */
+    static final class Latencies {
+
+        private long[] values = new long[1024];
+
+        private int count;
+
+        void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+        }
+
+        void addAll(Latencies other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        /**
+         * @param percentiles the percentiles, from 0 to 100.
+         * @return the latencies at the percentiles in milliseconds, by the nearest rank.
+         */
+        double[] percentilesMillis(double... percentiles) {
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            double[] result = new double[percentiles.length];
+            for (int i = 0; i < percentiles.length; i++) {
+                int rank = (int) Math.ceil(percentiles[i] / 100 * count);
+                result[i] = count == 0 ? 0 : sorted[Math.min(count, Math.max(rank, 1)) - 1] / 1e6;
+            }
+            return result;
+        }
+    }
+}
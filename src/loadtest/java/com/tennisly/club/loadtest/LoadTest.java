@@ -0,0 +1,106 @@
+package com.tennisly.club.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a running application with the {@link Scenario}s of a synthetic club, and checks their latencies against
+ * their budgets.
+ * <p>
+ * The club is made first, through the API, from the seed of the settings. Each scenario is then run in a loop by its
+ * virtual users, all at once, for the warmup and the duration of the settings; only the iterations which start after
+ * the warmup are measured. The report is written as JSON to the report directory and compared with the baseline
+ * report, if there is one. The run fails when a scenario is over its budget.
+ *
+ * @see LoadTestSettings
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+        ObjectMapper objectMapper = new ObjectMapper();
+        ApiClient api = new ApiClient(settings.getBaseUrl(), objectMapper);
+
+        String adminToken = ClubDataset.authenticate(api, settings.get("loadtest.admin.login"), settings.get("loadtest.admin.password"));
+        if (api.send("GET", "/api/account", adminToken, null).isRateLimited()) {
+            throw new VirtualUser.RateLimitedException("GET /api/account");
+        }
+        int users = 0;
+        for (Scenario scenario : Scenario.values()) {
+            users += settings.getUsers(scenario);
+        }
+        long seeding = System.nanoTime();
+        ClubDataset club = ClubDataset.seed(api, adminToken, settings, Math.max(1, users));
+        System.out.printf(
+            "Club of %d members and %d courts ready in %d s%n",
+            club.getMembers().size(),
+            club.getCordIds().size(),
+            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seeding)
+        );
+
+        Instant startedAt = Instant.now();
+        String runId = Long.toString(startedAt.toEpochMilli(), Character.MAX_RADIX);
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.getInt("loadtest.warmup-seconds"));
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.getInt("loadtest.duration-seconds"));
+        Map<Scenario, List<VirtualUser>> virtualUsers = new EnumMap<>(Scenario.class);
+        List<Future<?>> runs = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, users));
+        try {
+            int index = 0;
+            for (Scenario scenario : Scenario.values()) {
+                List<VirtualUser> scenarioUsers = new ArrayList<>();
+                for (int i = 0; i < settings.getUsers(scenario); i++) {
+                    VirtualUser user = new VirtualUser(api, club, runId, index, settings.getSeed() * 1000 + index);
+                    index++;
+                    scenarioUsers.add(user);
+                    runs.add(
+                        executor.submit(() -> {
+                            user.run(scenario, measureFrom, end);
+                            return null;
+                        })
+                    );
+                }
+                virtualUsers.put(scenario, scenarioUsers);
+            }
+            System.out.printf("%d virtual users started, measuring after %s s of warmup%n", users, settings.get("loadtest.warmup-seconds"));
+            for (Future<?> run : runs) {
+                try {
+                    run.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<Scenario, LatencyRecorder> recorders = new EnumMap<>(Scenario.class);
+        virtualUsers.forEach((scenario, scenarioUsers) -> {
+            LatencyRecorder recorder = new LatencyRecorder();
+            scenarioUsers.forEach(user -> recorder.merge(user.getRecorder()));
+            recorders.put(scenario, recorder);
+        });
+        LoadTestReport report = new LoadTestReport(objectMapper, settings, startedAt, recorders);
+        // read before writing, as the baseline may be the report of the same commit
+        JsonNode baseline = LoadTestReport.readBaseline(objectMapper, settings.get("loadtest.baseline"));
+        Path file = report.write(Path.of(settings.get("loadtest.report-dir")));
+        System.out.print(report.summary(baseline));
+        System.out.println("Report written to " + file);
+        if (!report.getBudgetViolations().isEmpty()) {
+            throw new IllegalStateException("Latency budgets exceeded: " + String.join("; ", report.getBudgetViolations()));
+        }
+    }
+}
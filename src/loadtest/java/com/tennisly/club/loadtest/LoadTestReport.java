@@ -0,0 +1,199 @@
+package com.tennisly.club.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON report of a run: the latencies of each scenario against its budgets and of each request, with the commit
+ * and the machine, so that the runs of two commits on the same machine can be compared.
+ */
+final class LoadTestReport {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectNode report;
+
+    private final List<String> budgetViolations = new ArrayList<>();
+
+    LoadTestReport(
+        ObjectMapper objectMapper,
+        LoadTestSettings settings,
+        Instant startedAt,
+        Map<Scenario, LatencyRecorder> recorders
+    ) {
+        this.objectMapper = objectMapper;
+        this.report = objectMapper.createObjectNode();
+        int durationSeconds = settings.getInt("loadtest.duration-seconds");
+        report.put("commit", commit());
+        report.put("startedAt", startedAt.toString());
+        report.put("durationSeconds", durationSeconds);
+
+        ObjectNode environment = report.putObject("environment");
+        environment.put("processors", Runtime.getRuntime().availableProcessors());
+        environment.put("java", System.getProperty("java.version"));
+        environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        ObjectNode settingsNode = report.putObject("settings");
+        settings.asProperties().stringPropertyNames().stream().sorted().forEach(name -> settingsNode.put(name, settings.get(name)));
+
+        ObjectNode scenarios = report.putObject("scenarios");
+        ObjectNode requests = report.putObject("requests");
+        recorders.forEach((scenario, recorder) -> {
+            LatencyRecorder.Latencies iterations = recorder.getLatencies().get(scenario.getName());
+            ObjectNode node = stats(scenarios.putObject(scenario.getName()), iterations, recorder.getErrors(scenario.getName()));
+            node.put("users", settings.getUsers(scenario));
+            node.put("throughputPerSecond", round((iterations != null ? iterations.getCount() : 0) / (double) durationSeconds));
+            int p95Budget = settings.getP95Budget(scenario);
+            int p99Budget = settings.getP99Budget(scenario);
+            node.putObject("budget").put("p95Ms", p95Budget).put("p99Ms", p99Budget);
+            boolean withinBudget =
+                iterations != null && node.get("p95Ms").asDouble() <= p95Budget && node.get("p99Ms").asDouble() <= p99Budget;
+            node.put("withinBudget", withinBudget);
+            if (!withinBudget) {
+                budgetViolations.add(
+                    String.format(
+                        "%s: p95 %.1f ms (budget %d), p99 %.1f ms (budget %d)",
+                        scenario.getName(),
+                        node.get("p95Ms").asDouble(),
+                        p95Budget,
+                        node.get("p99Ms").asDouble(),
+                        p99Budget
+                    )
+                );
+            }
+            recorder
+                .getLatencies()
+                .forEach((name, latencies) -> {
+                    if (!name.equals(scenario.getName())) {
+                        stats(requests.putObject(name), latencies, recorder.getErrors(name));
+                    }
+                });
+        });
+    }
+
+    /**
+     * @return the scenarios over their budget, empty if there are none.
+     */
+    List<String> getBudgetViolations() {
+        return budgetViolations;
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("loadtest-" + report.get("commit").asText() + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        return file;
+    }
+
+    /**
+     * @return the latencies of each scenario, and their change from a baseline report when there is one.
+     */
+    String summary(JsonNode baseline) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(
+            String.format(
+                "%-16s %10s %7s %10s %10s %10s %10s%n",
+                "scenario",
+                "iterations",
+                "errors",
+                "per second",
+                "p50 ms",
+                "p95 ms",
+                "p99 ms"
+            )
+        );
+        report
+            .get("scenarios")
+            .fields()
+            .forEachRemaining(entry -> {
+                JsonNode node = entry.getValue();
+                JsonNode before = baseline != null ? baseline.path("scenarios").path(entry.getKey()) : null;
+                summary.append(
+                    String.format(
+                        "%-16s %10d %7d %10s %10s %10s %10s%s%n",
+                        entry.getKey(),
+                        node.get("count").asInt(),
+                        node.get("errors").asInt(),
+                        compare(node, before, "throughputPerSecond"),
+                        compare(node, before, "p50Ms"),
+                        compare(node, before, "p95Ms"),
+                        compare(node, before, "p99Ms"),
+                        node.get("withinBudget").asBoolean() ? "" : "  over budget"
+                    )
+                );
+            });
+        if (baseline != null) {
+            summary.append("compared with ").append(baseline.path("commit").asText()).append(" (in parentheses, change in %)\n");
+        }
+        return summary.toString();
+    }
+
+    static JsonNode readBaseline(ObjectMapper objectMapper, String path) throws IOException {
+        if (path.isEmpty()) {
+            return null;
+        }
+        return objectMapper.readTree(Path.of(path).toFile());
+    }
+
+    private static String compare(JsonNode node, JsonNode before, String field) {
+        double value = node.get(field).asDouble();
+        if (before == null || !before.hasNonNull(field) || before.get(field).asDouble() == 0) {
+            return String.format("%.1f", value);
+        }
+        return String.format("%.1f (%+.0f)", value, (value / before.get(field).asDouble() - 1) * 100);
+    }
+
+    private static ObjectNode stats(ObjectNode node, LatencyRecorder.Latencies latencies, int errors) {
+        double[] percentiles = latencies != null ? latencies.percentilesMillis(50, 95, 99, 100) : new double[4];
+        node.put("count", latencies != null ? latencies.getCount() : 0);
+        node.put("errors", errors);
+        node.put("p50Ms", round(percentiles[0]));
+        node.put("p95Ms", round(percentiles[1]));
+        node.put("p99Ms", round(percentiles[2]));
+        node.put("maxMs", round(percentiles[3]));
+        return node;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    /**
+     * @return the short hash of the commit the load test runs from, with {@code -dirty} when there are local changes.
+     */
+    private static String commit() {
+        String hash = git("rev-parse", "--short", "HEAD");
+        if (hash.isEmpty()) {
+            return "unknown";
+        }
+        return git("status", "--porcelain", "--untracked-files=no").isEmpty() ? hash : hash + "-dirty";
+    }
+
+    private static String git(String... args) {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(args));
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String output;
+            try (InputStream in = process.getInputStream()) {
+                output = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0 ? output : "";
+        } catch (IOException e) {
+            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tennisly.club.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * The settings of the load test: those of {@code loadtest.properties}, overridden by the system properties of the same
+ * name.
+ */
+final class LoadTestSettings {
+
+    private static final String RESOURCE = "/loadtest.properties";
+
+    private final Properties properties = new Properties();
+
+    LoadTestSettings() {
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " is not on the classpath");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("loadtest.")) {
+                properties.setProperty(name, System.getProperty(name));
+            }
+        }
+    }
+
+    String get(String name) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException("The setting " + name + " is missing");
+        }
+        return value.trim();
+    }
+
+    int getInt(String name) {
+        try {
+            return Integer.parseInt(get(name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The setting " + name + " is not a number: " + get(name), e);
+        }
+    }
+
+    String getBaseUrl() {
+        return get("loadtest.base-url");
+    }
+
+    long getSeed() {
+        return Long.parseLong(get("loadtest.seed"));
+    }
+
+    int getUsers(Scenario scenario) {
+        return getInt("loadtest.scenario." + scenario.getName() + ".users");
+    }
+
+    int getP95Budget(Scenario scenario) {
+        return getInt("loadtest.scenario." + scenario.getName() + ".p95-ms");
+    }
+
+    int getP99Budget(Scenario scenario) {
+        return getInt("loadtest.scenario." + scenario.getName() + ".p99-ms");
+    }
+
+    Properties asProperties() {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+}
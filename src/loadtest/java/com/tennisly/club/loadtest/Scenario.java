@@ -0,0 +1,100 @@
+package com.tennisly.club.loadtest;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * What the users of the club do, each scenario being one iteration of a virtual user.
+ */
+enum Scenario {
+    /**
+     * A visitor registers, and a member logs in.
+     */
+    AUTHENTICATE("authenticate") {
+        @Override
+        void run(VirtualUser user) throws InterruptedException {
+            String login = user.newLogin();
+            ObjectNode account = JsonNodeFactory.instance.objectNode();
+            account.put("login", login);
+            account.put("email", login + "@loadtest.tennisly.club");
+            account.put("password", login + "-password");
+            account.put("langKey", "en");
+            user.call("POST /api/register", "POST", "/api/register", null, account);
+
+            ClubDataset.Member member = user.anyMember();
+            ObjectNode credentials = JsonNodeFactory.instance.objectNode();
+            credentials.put("username", member.getLogin());
+            credentials.put("password", member.getPassword());
+            user.call("POST /api/authenticate", "POST", "/api/authenticate", null, credentials);
+        }
+    },
+
+    /**
+     * A member looks for opponents, by level and often by gender or name, a few pages deep.
+     */
+    BROWSE_PLAYERS("browse-players") {
+        @Override
+        void run(VirtualUser user) throws InterruptedException {
+            Random random = user.getRandom();
+            StringBuilder query = new StringBuilder("/api/players?size=20&page=").append(random.nextInt(3));
+            query.append(random.nextBoolean() ? "&sort=rating,desc" : "&sort=id,asc");
+            int level = random.nextInt(ClubDataset.LEVELS.length - 1);
+            query.append("&level.in=").append(ClubDataset.LEVELS[level]).append(',').append(ClubDataset.LEVELS[level + 1]);
+            if (random.nextInt(2) == 0) {
+                query.append("&gender.equals=").append(ClubDataset.GENDERS[random.nextInt(ClubDataset.GENDERS.length)]);
+            }
+            if (random.nextInt(4) == 0) {
+                String firstName = user.anyMember().getFullName().split(" ")[0];
+                query.append("&fullName.contains=").append(URLEncoder.encode(firstName, StandardCharsets.UTF_8));
+            }
+            user.call("GET /api/players", "GET", query.toString(), user.anyMember().getToken(), null);
+        }
+    },
+
+    /**
+     * A member challenges another one on a court, who accepts.
+     */
+    CHALLENGE("challenge") {
+        @Override
+        void run(VirtualUser user) throws InterruptedException {
+            ClubDataset.Member proposer = user.anyMember();
+            ClubDataset.Member acceptor = user.anyMemberBut(proposer);
+            ClubDataset club = user.getClub();
+            ObjectNode challenge = JsonNodeFactory.instance.objectNode();
+            challenge.put("matchTime", club.nextMatchTime().toString());
+            challenge.put("challengeStatus", "REQUESTED");
+            challenge.put("status", "ACTIVE");
+            challenge.putObject("cord").put("id", club.getCordIds().get(user.getRandom().nextInt(club.getCordIds().size())));
+            challenge.putObject("proposer").put("id", proposer.getPlayerId());
+            challenge.putObject("acceptor").put("id", acceptor.getPlayerId());
+            long id = user.call("POST /api/challenges", "POST", "/api/challenges", proposer.getToken(), challenge).get("id").asLong();
+            user.call("POST /api/challenges/{id}/accept", "POST", "/api/challenges/" + id + "/accept", acceptor.getToken(), null);
+        }
+    },
+
+    /**
+     * A member lists their challenges, the latest first, a page or two deep.
+     */
+    LIST_CHALLENGES("list-challenges") {
+        @Override
+        void run(VirtualUser user) throws InterruptedException {
+            String query = "/api/challenges?size=20&sort=matchTime,desc&page=" + user.getRandom().nextInt(2);
+            user.call("GET /api/challenges", "GET", query, user.anyMember().getToken(), null);
+        }
+    };
+
+    private final String name;
+
+    Scenario(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    abstract void run(VirtualUser user) throws InterruptedException;
+}
@@ -0,0 +1,137 @@
+package com.tennisly.club.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A client running one scenario in a loop, with its own random numbers and recorder.
+ */
+final class VirtualUser {
+
+    private final ApiClient api;
+
+    private final ClubDataset club;
+
+    private final String runId;
+
+    private final int index;
+
+    private final Random random;
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    private boolean measuring;
+
+    private int iterations;
+
+    /**
+     * @param index the index of the user among all the users of the run.
+     * @param seed the seed of the user's random numbers.
+     */
+    VirtualUser(ApiClient api, ClubDataset club, String runId, int index, long seed) {
+        this.api = api;
+        this.club = club;
+        this.runId = runId;
+        this.index = index;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Run a scenario until the end, measuring from the end of the warmup.
+     *
+     * @param scenario the scenario.
+     * @param measureFrom the {@link System#nanoTime()} at which the warmup ends.
+     * @param end the {@link System#nanoTime()} at which the run ends.
+     */
+    void run(Scenario scenario, long measureFrom, long end) throws InterruptedException {
+        long start;
+        while ((start = System.nanoTime()) < end) {
+            measuring = start >= measureFrom;
+            try {
+                scenario.run(this);
+                if (measuring) {
+                    recorder.record(scenario.getName(), System.nanoTime() - start);
+                }
+            } catch (RateLimitedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (measuring) {
+                    recorder.recordError(scenario.getName());
+                }
+            }
+            iterations++;
+        }
+    }
+
+    /**
+     * Call the API, recording the latency of the request under its name.
+     *
+     * @return the body of the response.
+     * @throws IllegalStateException if the response is not successful.
+     */
+    JsonNode call(String name, String method, String path, String token, Object body) throws InterruptedException {
+        long start = System.nanoTime();
+        ApiClient.Response response = api.send(method, path, token, body);
+        long nanos = System.nanoTime() - start;
+        if (response.isRateLimited()) {
+            throw new RateLimitedException(name);
+        }
+        if (measuring) {
+            if (response.isSuccessful()) {
+                recorder.record(name, nanos);
+            } else {
+                recorder.recordError(name);
+            }
+        }
+        return response.expectSuccess();
+    }
+
+    ClubDataset.Member anyMember() {
+        List<ClubDataset.Member> members = club.getMembers();
+        return members.get(random.nextInt(members.size()));
+    }
+
+    ClubDataset.Member anyMemberBut(ClubDataset.Member member) {
+        ClubDataset.Member other;
+        do {
+            other = anyMember();
+        } while (other == member && club.getMembers().size() > 1);
+        return other;
+    }
+
+    ClubDataset getClub() {
+        return club;
+    }
+
+    Random getRandom() {
+        return random;
+    }
+
+    /**
+     * @return a login which no other iteration of any run uses.
+     */
+    String newLogin() {
+        return "loadtest-" + runId + "-" + index + "-" + iterations;
+    }
+
+    LatencyRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Thrown when the application limits the rate of the load test: the run measures nothing then, and stops.
+     */
+    static final class RateLimitedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        RateLimitedException(String request) {
+            super(
+                request +
+                " is rate limited: run the application with --application.rate-limit.enabled=false, " +
+                "or the load test measures the rate limit instead of the application"
+            );
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.tennisly.club.aop.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * The {@code /management/timing} endpoint, to read and change the settings of the {@link TimingInterceptor} without a
+ * restart: {@code POST} a JSON object with {@code enabled} and/or {@code sampleRate}.
+ */
+@Endpoint(id = "timing")
+public class TimingEndpoint {
+
+    private final TimingInterceptor timingInterceptor;
+
+    public TimingEndpoint(TimingInterceptor timingInterceptor) {
+        this.timingInterceptor = timingInterceptor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("enabled", timingInterceptor.isEnabled());
+        settings.put("sampleRate", timingInterceptor.getSampleRate());
+        return settings;
+    }
+
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Double sampleRate) {
+        if (sampleRate != null && !(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new InvalidEndpointRequestException("The sample rate must be between 0 and 1", "Invalid sample rate");
+        }
+        timingInterceptor.configure(
+            enabled != null ? enabled : timingInterceptor.isEnabled(),
+            sampleRate != null ? sampleRate : timingInterceptor.getSampleRate()
+        );
+        return settings();
+    }
+}
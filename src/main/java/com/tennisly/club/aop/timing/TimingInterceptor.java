@@ -0,0 +1,143 @@
+package com.tennisly.club.aop.timing;
+
+import com.tennisly.club.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Records the latency of repository, service and REST controller methods in the {@value #METRIC} timer, tagged with
+ * the class, the method and whether it threw.
+ * <p>
+ * Unlike the {@code LoggingAspect} of development, it is a plain {@link MethodInterceptor}: the method and the target
+ * are read from the invocation, and the timers are found in maps keyed by them, so a timed call allocates nothing. When
+ * only a share of the calls is sampled, the timers count only the sampled calls, while their latencies stay
+ * representative. Timing is switched and sampled at runtime through {@link TimingEndpoint}.
+ */
+public class TimingInterceptor implements MethodInterceptor {
+
+    public static final String METRIC = "method.latency";
+
+    private static final String APPLICATION_PACKAGE = "com.tennisly.club.";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ClassValue<Map<Method, MethodTimers>> timers = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodTimers> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private volatile boolean enabled;
+
+    private volatile double sampleRate;
+
+    /**
+     * @param meterRegistry the registry, looked up at the first timed call: the interceptor is created with the
+     * advisors, before the registry could be configured.
+     * @param properties the initial settings.
+     */
+    public TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry, ApplicationProperties.Timing properties) {
+        this.meterRegistry = meterRegistry;
+        configure(properties.isEnabled(), properties.getSampleRate());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        double rate = sampleRate;
+        if (!enabled || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            timers(invocation).success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable t) {
+            timers(invocation).error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw t;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Switch timing on or off, and set the share of the calls which are timed.
+     *
+     * @param enabled whether calls are timed.
+     * @param sampleRate the share of calls timed, from 0 to 1.
+     */
+    public void configure(boolean enabled, double sampleRate) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        this.enabled = enabled;
+    }
+
+    private MethodTimers timers(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
+        Map<Method, MethodTimers> methodTimers = timers.get(targetClass);
+        MethodTimers result = methodTimers.get(invocation.getMethod());
+        if (result == null) {
+            result = methodTimers.computeIfAbsent(invocation.getMethod(), method -> new MethodTimers(className(targetClass), method));
+        }
+        return result;
+    }
+
+    /**
+     * @return the name of the class of a target: its application interface when it is a proxy, as repositories are.
+     */
+    private static String className(Class<?> targetClass) {
+        if (Proxy.isProxyClass(targetClass)) {
+            for (Class<?> type : targetClass.getInterfaces()) {
+                if (type.getName().startsWith(APPLICATION_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        String name = targetClass.getSimpleName();
+        int generated = name.indexOf("$$");
+        return generated > 0 ? name.substring(0, generated) : name;
+    }
+
+    /**
+     * The timers of a method, for the calls which returned and those which threw.
+     */
+    private final class MethodTimers {
+
+        private final Timer success;
+
+        private final Timer error;
+
+        MethodTimers(String className, Method method) {
+            this.success = timer(className, method, "success");
+            this.error = timer(className, method, "error");
+        }
+
+        private Timer timer(String className, Method method, String outcome) {
+            return Timer
+                .builder(METRIC)
+                .tag("class", className)
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(meterRegistry.getObject());
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.tennisly.club.config;
 
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -9,4 +13,513 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Media media = new Media();
+
+    private final Cache cache = new Cache();
+
+    private final Booking booking = new Booking();
+
+    private final Rating rating = new Rating();
+
+    private final ChallengeEvents challengeEvents = new ChallengeEvents();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final Timing timing = new Timing();
+
+    public Media getMedia() {
+        return media;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public Rating getRating() {
+        return rating;
+    }
+
+    public ChallengeEvents getChallengeEvents() {
+        return challengeEvents;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public Timing getTiming() {
+        return timing;
+    }
+
+    /**
+     * Limits of the uploaded images, see {@link com.tennisly.club.service.MediaService}.
+     */
+    public static class Media {
+
+        private long maxImagePixels = 24_000_000;
+
+        public long getMaxImagePixels() {
+            return maxImagePixels;
+        }
+
+        public void setMaxImagePixels(long maxImagePixels) {
+            this.maxImagePixels = maxImagePixels;
+        }
+    }
+
+    /**
+     * Limits of the cache regions, see {@link CacheConfiguration}.
+     */
+    public static class Cache {
+
+        private final Region cord = new Region(3600, 1000);
+
+        private final Region authority = new Region(86400, 100);
+
+        private final Region userAuthorities = new Region(3600, 10000);
+
+        private final Region currentPlayerIdentity = new Region(60, 10000);
+
+        private final Region verifiedToken = new Region(300, 10000);
+
+        private final Region verifiedCredential = new Region(300, 10000);
+
+        public Region getCord() {
+            return cord;
+        }
+
+        public Region getAuthority() {
+            return authority;
+        }
+
+        public Region getUserAuthorities() {
+            return userAuthorities;
+        }
+
+        public Region getCurrentPlayerIdentity() {
+            return currentPlayerIdentity;
+        }
+
+        public Region getVerifiedToken() {
+            return verifiedToken;
+        }
+
+        public Region getVerifiedCredential() {
+            return verifiedCredential;
+        }
+
+        public static class Region {
+
+            private long timeToLiveSeconds;
+
+            private long maxEntries;
+
+            Region(long timeToLiveSeconds, long maxEntries) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+                this.maxEntries = maxEntries;
+            }
+
+            public long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    /**
+     * Length of a match and opening hours of the courts, see {@link com.tennisly.club.service.BookingService}.
+     */
+    public static class Booking {
+
+        private Duration matchDuration = Duration.ofHours(1);
+
+        private int openingHour = 8;
+
+        private int closingHour = 23;
+
+        private ZoneId zoneId = ZoneId.of("Europe/Istanbul");
+
+        public Duration getMatchDuration() {
+            return matchDuration;
+        }
+
+        public void setMatchDuration(Duration matchDuration) {
+            this.matchDuration = matchDuration;
+        }
+
+        public int getOpeningHour() {
+            return openingHour;
+        }
+
+        public void setOpeningHour(int openingHour) {
+            this.openingHour = openingHour;
+        }
+
+        public int getClosingHour() {
+            return closingHour;
+        }
+
+        public void setClosingHour(int closingHour) {
+            this.closingHour = closingHour;
+        }
+
+        public ZoneId getZoneId() {
+            return zoneId;
+        }
+
+        public void setZoneId(ZoneId zoneId) {
+            this.zoneId = zoneId;
+        }
+    }
+
+    /**
+     * Elo formula of the player ratings, see {@link com.tennisly.club.service.RatingService}.
+     */
+    public static class Rating {
+
+        private int initialRating = 1500;
+
+        private int maxRatingChange = 32;
+
+        private int recomputeChunkSize = 500;
+
+        public int getInitialRating() {
+            return initialRating;
+        }
+
+        public void setInitialRating(int initialRating) {
+            this.initialRating = initialRating;
+        }
+
+        public int getMaxRatingChange() {
+            return maxRatingChange;
+        }
+
+        public void setMaxRatingChange(int maxRatingChange) {
+            this.maxRatingChange = maxRatingChange;
+        }
+
+        public int getRecomputeChunkSize() {
+            return recomputeChunkSize;
+        }
+
+        public void setRecomputeChunkSize(int recomputeChunkSize) {
+            this.recomputeChunkSize = recomputeChunkSize;
+        }
+    }
+
+    /**
+     * Streams of challenge changes pushed to the players, see {@link com.tennisly.club.service.ChallengeEventService}.
+     */
+    public static class ChallengeEvents {
+
+        private int bufferSize = 64;
+
+        private int historySize = 1000;
+
+        private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        private int senderThreads = 4;
+
+        private int senderQueueCapacity = 1000;
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getHistorySize() {
+            return historySize;
+        }
+
+        public void setHistorySize(int historySize) {
+            this.historySize = historySize;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public int getSenderQueueCapacity() {
+            return senderQueueCapacity;
+        }
+
+        public void setSenderQueueCapacity(int senderQueueCapacity) {
+            this.senderQueueCapacity = senderQueueCapacity;
+        }
+    }
+
+    /**
+     * Delivery of the mail outbox, see {@link com.tennisly.club.service.MailOutboxSender}.
+     */
+    public static class MailOutbox {
+
+        private int batchSize = 50;
+
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        private Duration lease = Duration.ofMinutes(5);
+
+        private int maxAttempts = 8;
+
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        private int domainRateLimit = 60;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public int getDomainRateLimit() {
+            return domainRateLimit;
+        }
+
+        public void setDomainRateLimit(int domainRateLimit) {
+            this.domainRateLimit = domainRateLimit;
+        }
+    }
+
+    /**
+     * The threads hashing and checking passwords, see {@link com.tennisly.club.security.BoundedPasswordEncoder}.
+     */
+    public static class PasswordHashing {
+
+        private int threads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+        private int queueCapacity = 64;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * The request budgets of users and anonymous clients, see {@link com.tennisly.club.web.filter.RateLimitFilter}.
+     */
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        private int maxKeys = 100000;
+
+        private String basicAuthenticationGroup = "authentication";
+
+        private List<Group> groups = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxKeys() {
+            return maxKeys;
+        }
+
+        public void setMaxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+
+        public String getBasicAuthenticationGroup() {
+            return basicAuthenticationGroup;
+        }
+
+        public void setBasicAuthenticationGroup(String basicAuthenticationGroup) {
+            this.basicAuthenticationGroup = basicAuthenticationGroup;
+        }
+
+        public List<Group> getGroups() {
+            return groups;
+        }
+
+        public void setGroups(List<Group> groups) {
+            this.groups = groups;
+        }
+
+        /**
+         * Endpoints sharing a budget: a request counts against the first group with a matching pattern.
+         */
+        public static class Group {
+
+            private String name;
+
+            private List<String> patterns = new ArrayList<>();
+
+            private long capacity = 100;
+
+            private double refillPerSecond = 20;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public List<String> getPatterns() {
+                return patterns;
+            }
+
+            public void setPatterns(List<String> patterns) {
+                this.patterns = patterns;
+            }
+
+            public long getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(long capacity) {
+                this.capacity = capacity;
+            }
+
+            public double getRefillPerSecond() {
+                return refillPerSecond;
+            }
+
+            public void setRefillPerSecond(double refillPerSecond) {
+                this.refillPerSecond = refillPerSecond;
+            }
+        }
+    }
+
+    /**
+     * The initial settings of {@link com.tennisly.club.aop.timing.TimingInterceptor}, which can be changed at runtime.
+     */
+    public static class Timing {
+
+        private boolean enabled = true;
+
+        private double sampleRate = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+}
@@ -39,6 +39,22 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * The executor writing server-sent events, apart from the task executor so that clients which do not read their
+     * events hold up none of the asynchronous tasks.
+     */
+    @Bean(name = "challengeEventExecutor")
+    public Executor getChallengeEventExecutor(ApplicationProperties applicationProperties) {
+        log.debug("Creating Challenge Event Executor");
+        ApplicationProperties.ChallengeEvents properties = applicationProperties.getChallengeEvents();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getSenderThreads());
+        executor.setMaxPoolSize(properties.getSenderThreads());
+        executor.setQueueCapacity(properties.getSenderQueueCapacity());
+        executor.setThreadNamePrefix("challenge-events-");
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -0,0 +1,65 @@
+package com.tennisly.club.config;
+
+import java.time.Duration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache and Spring caches, backed by an in-process Ehcache through JCache.
+ * <p>
+ * Every region is bounded by its own time-to-live and entry count from {@link ApplicationProperties.Cache},
+ * and records statistics so hit and miss counts are exported as {@code cache_gets} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private final ApplicationProperties.Cache properties;
+
+    public CacheConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getCache();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, com.tennisly.club.domain.Authority.class.getName(), properties.getAuthority());
+            createCache(cm, com.tennisly.club.domain.User.class.getName() + ".authorities", properties.getUserAuthorities());
+            createCache(cm, com.tennisly.club.domain.Cord.class.getName(), properties.getCord());
+            createCache(cm, com.tennisly.club.service.CurrentPlayerContext.IDENTITY_BY_LOGIN_CACHE, properties.getCurrentPlayerIdentity());
+            createCache(cm, com.tennisly.club.security.jwt.TokenProvider.VERIFIED_TOKEN_CACHE, properties.getVerifiedToken());
+            createCache(cm, com.tennisly.club.security.BoundedPasswordEncoder.VERIFIED_CREDENTIAL_CACHE, properties.getVerifiedCredential());
+        };
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName, ApplicationProperties.Cache.Region region) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(
+                cacheName,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(region.getMaxEntries()))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(region.getTimeToLiveSeconds())))
+                        .build()
+                )
+            );
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+}
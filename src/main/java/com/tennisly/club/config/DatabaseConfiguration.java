@@ -1,5 +1,6 @@
 package com.tennisly.club.config;
 
+import com.tennisly.club.repository.SliceJpaRepository;
 import java.sql.SQLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,7 +15,7 @@ import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.h2.H2ConfigurationHelper;
 
 @Configuration
-@EnableJpaRepositories({ "com.tennisly.club.repository" })
+@EnableJpaRepositories(value = { "com.tennisly.club.repository" }, repositoryBaseClass = SliceJpaRepository.class)
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
 public class DatabaseConfiguration {
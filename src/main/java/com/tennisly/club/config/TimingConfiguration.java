@@ -0,0 +1,48 @@
+package com.tennisly.club.config;
+
+import com.tennisly.club.aop.timing.TimingEndpoint;
+import com.tennisly.club.aop.timing.TimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class TimingConfiguration {
+
+    /**
+     * The services and REST controllers of the application, as for the {@code LoggingAspect}, and the Spring Data
+     * repositories, which are proxies implementing the interfaces of the repository package.
+     */
+    private static final String TIMED_METHODS =
+        "((within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *))" +
+        " && (within(com.tennisly.club.service..*) || within(com.tennisly.club.web.rest..*)))" +
+        " || execution(public * (com.tennisly.club.repository..*+).*(..))" +
+        " && !execution(* java.lang.Object.*(..))";
+
+    @Bean
+    public static TimingInterceptor timingInterceptor(
+        ObjectProvider<MeterRegistry> meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        return new TimingInterceptor(meterRegistry, applicationProperties.getTiming());
+    }
+
+    @Bean
+    public static Advisor timingAdvisor(TimingInterceptor timingInterceptor) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(TIMED_METHODS);
+        return new DefaultPointcutAdvisor(pointcut, timingInterceptor);
+    }
+
+    @Bean
+    public TimingEndpoint timingEndpoint(TimingInterceptor timingInterceptor) {
+        return new TimingEndpoint(timingInterceptor);
+    }
+}
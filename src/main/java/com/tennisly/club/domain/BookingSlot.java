@@ -0,0 +1,137 @@
+package com.tennisly.club.domain;
+
+import com.tennisly.club.domain.enumeration.BookingResource;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A court or a player held by an accepted {@link Challenge} from its match time.
+ * <p>
+ * The unique constraint keeps two accepted challenges from holding the same resource at the same time,
+ * even when they are accepted concurrently.
+ */
+@Entity
+@Table(
+    name = "booking_slot",
+    uniqueConstraints = @UniqueConstraint(
+        name = "ux_booking_slot__resource_start_time",
+        columnNames = { "resource_type", "resource_id", "start_time" }
+    )
+)
+public class BookingSlot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "challenge_id", nullable = false)
+    private Long challengeId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource_type", length = 10, nullable = false)
+    private BookingResource resourceType;
+
+    @NotNull
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    @NotNull
+    @Column(name = "start_time", nullable = false)
+    private Instant startTime;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getChallengeId() {
+        return this.challengeId;
+    }
+
+    public BookingSlot challengeId(Long challengeId) {
+        this.setChallengeId(challengeId);
+        return this;
+    }
+
+    public void setChallengeId(Long challengeId) {
+        this.challengeId = challengeId;
+    }
+
+    public BookingResource getResourceType() {
+        return this.resourceType;
+    }
+
+    public BookingSlot resourceType(BookingResource resourceType) {
+        this.setResourceType(resourceType);
+        return this;
+    }
+
+    public void setResourceType(BookingResource resourceType) {
+        this.resourceType = resourceType;
+    }
+
+    public Long getResourceId() {
+        return this.resourceId;
+    }
+
+    public BookingSlot resourceId(Long resourceId) {
+        this.setResourceId(resourceId);
+        return this;
+    }
+
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public Instant getStartTime() {
+        return this.startTime;
+    }
+
+    public BookingSlot startTime(Instant startTime) {
+        this.setStartTime(startTime);
+        return this;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BookingSlot)) {
+            return false;
+        }
+        return id != null && id.equals(((BookingSlot) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BookingSlot{" +
+            "id=" + getId() +
+            ", challengeId=" + getChallengeId() +
+            ", resourceType='" + getResourceType() + "'" +
+            ", resourceId=" + getResourceId() +
+            ", startTime='" + getStartTime() + "'" +
+            "}";
+    }
+}
@@ -1,15 +1,21 @@
 package com.tennisly.club.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.tennisly.club.domain.enumeration.GeneralStatus;
 import java.io.Serializable;
 import javax.persistence.*;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Cord.
  */
 @Entity
 @Table(name = "cord")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Cord implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -25,10 +31,15 @@ public class Cord implements Serializable {
     @Column(name = "adress")
     private String adress;
 
-    @Lob
-    @Column(name = "image")
+    /**
+     * Uploaded image content, moved into the media store on save and never serialized back.
+     */
+    @Transient
     private byte[] image;
 
+    @Column(name = "image_id", length = 64)
+    private String imageId;
+
     @Column(name = "image_content_type")
     private String imageContentType;
 
@@ -36,6 +47,16 @@ public class Cord implements Serializable {
     @Column(name = "status")
     private GeneralStatus status;
 
+    @DecimalMin(value = "-90")
+    @DecimalMax(value = "90")
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @DecimalMin(value = "-180")
+    @DecimalMax(value = "180")
+    @Column(name = "longitude")
+    private Double longitude;
+
     public Long getId() {
         return this.id;
     }
@@ -75,6 +96,7 @@ public class Cord implements Serializable {
         this.adress = adress;
     }
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     public byte[] getImage() {
         return this.image;
     }
@@ -88,6 +110,19 @@ public class Cord implements Serializable {
         this.image = image;
     }
 
+    public String getImageId() {
+        return this.imageId;
+    }
+
+    public Cord imageId(String imageId) {
+        this.setImageId(imageId);
+        return this;
+    }
+
+    public void setImageId(String imageId) {
+        this.imageId = imageId;
+    }
+
     public String getImageContentType() {
         return this.imageContentType;
     }
@@ -114,6 +149,32 @@ public class Cord implements Serializable {
         this.status = status;
     }
 
+    public Double getLatitude() {
+        return this.latitude;
+    }
+
+    public Cord latitude(Double latitude) {
+        this.setLatitude(latitude);
+        return this;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return this.longitude;
+    }
+
+    public Cord longitude(Double longitude) {
+        this.setLongitude(longitude);
+        return this;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -140,9 +201,11 @@ public class Cord implements Serializable {
             "id=" + getId() +
             ", name='" + getName() + "'" +
             ", adress='" + getAdress() + "'" +
-            ", image='" + getImage() + "'" +
+            ", imageId='" + getImageId() + "'" +
             ", imageContentType='" + getImageContentType() + "'" +
             ", status='" + getStatus() + "'" +
+            ", latitude=" + getLatitude() +
+            ", longitude=" + getLongitude() +
             "}";
     }
 }
@@ -0,0 +1,171 @@
+package com.tennisly.club.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * The result of an accepted {@link Challenge}, and the rating change it caused to both players.
+ */
+@Entity
+@Table(name = "match_result")
+public class MatchResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Size(max = 50)
+    @Column(name = "score", length = 50)
+    private String score;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "proposer_rating_change", nullable = false)
+    private int proposerRatingChange;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "acceptor_rating_change", nullable = false)
+    private int acceptorRatingChange;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @JsonIgnoreProperties(value = { "cord", "proposer", "acceptor" }, allowSetters = true)
+    @OneToOne(optional = false)
+    @JoinColumn(unique = true, nullable = false)
+    private Challenge challenge;
+
+    @NotNull
+    @JsonIgnoreProperties(value = { "internalUser", "rating" }, allowSetters = true)
+    @ManyToOne(optional = false)
+    @JoinColumn(nullable = false)
+    private Player winner;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public MatchResult id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getScore() {
+        return this.score;
+    }
+
+    public MatchResult score(String score) {
+        this.setScore(score);
+        return this;
+    }
+
+    public void setScore(String score) {
+        this.score = score;
+    }
+
+    public int getProposerRatingChange() {
+        return this.proposerRatingChange;
+    }
+
+    public MatchResult proposerRatingChange(int proposerRatingChange) {
+        this.setProposerRatingChange(proposerRatingChange);
+        return this;
+    }
+
+    public void setProposerRatingChange(int proposerRatingChange) {
+        this.proposerRatingChange = proposerRatingChange;
+    }
+
+    public int getAcceptorRatingChange() {
+        return this.acceptorRatingChange;
+    }
+
+    public MatchResult acceptorRatingChange(int acceptorRatingChange) {
+        this.setAcceptorRatingChange(acceptorRatingChange);
+        return this;
+    }
+
+    public void setAcceptorRatingChange(int acceptorRatingChange) {
+        this.acceptorRatingChange = acceptorRatingChange;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public MatchResult createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Challenge getChallenge() {
+        return this.challenge;
+    }
+
+    public MatchResult challenge(Challenge challenge) {
+        this.setChallenge(challenge);
+        return this;
+    }
+
+    public void setChallenge(Challenge challenge) {
+        this.challenge = challenge;
+    }
+
+    public Player getWinner() {
+        return this.winner;
+    }
+
+    public MatchResult winner(Player player) {
+        this.setWinner(player);
+        return this;
+    }
+
+    public void setWinner(Player player) {
+        this.winner = player;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MatchResult)) {
+            return false;
+        }
+        return id != null && id.equals(((MatchResult) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MatchResult{" +
+            "id=" + getId() +
+            ", score='" + getScore() + "'" +
+            ", proposerRatingChange=" + getProposerRatingChange() +
+            ", acceptorRatingChange=" + getAcceptorRatingChange() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,121 @@
+package com.tennisly.club.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * A stored binary file, such as a player photo or a court image.
+ * <p>
+ * The id is the hex encoded SHA-256 digest of the content, so identical uploads are stored once
+ * and the id doubles as a strong ETag.
+ */
+@Entity
+@Table(name = "media")
+public class Media implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Size(min = 64, max = 64)
+    @Column(name = "id", length = 64)
+    private String id;
+
+    @NotNull
+    @Size(max = 100)
+    @Column(name = "content_type", length = 100, nullable = false)
+    private String contentType;
+
+    @Column(name = "content_length", nullable = false)
+    private long contentLength;
+
+    @Lob
+    @NotNull
+    @Column(name = "content", nullable = false)
+    private byte[] content;
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate = Instant.now();
+
+    public String getId() {
+        return this.id;
+    }
+
+    public Media id(String id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public Media contentType(String contentType) {
+        this.setContentType(contentType);
+        return this;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getContentLength() {
+        return this.contentLength;
+    }
+
+    public byte[] getContent() {
+        return this.content;
+    }
+
+    public Media content(byte[] content) {
+        this.setContent(content);
+        return this;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+        this.contentLength = content != null ? content.length : 0;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Media)) {
+            return false;
+        }
+        return id != null && id.equals(((Media) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "Media{" +
+            "id='" + getId() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", contentLength=" + getContentLength() +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
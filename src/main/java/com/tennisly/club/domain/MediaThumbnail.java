@@ -0,0 +1,129 @@
+package com.tennisly.club.domain;
+
+import java.io.Serializable;
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * A downscaled variant of an image {@link Media}, stored next to the original.
+ */
+@Entity
+@Table(
+    name = "media_thumbnail",
+    uniqueConstraints = @UniqueConstraint(name = "ux_media_thumbnail__media_id_size", columnNames = { "media_id", "thumbnail_size" })
+)
+public class MediaThumbnail implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "media_id", length = 64, nullable = false)
+    private String mediaId;
+
+    @Column(name = "thumbnail_size", nullable = false)
+    private int size;
+
+    @NotNull
+    @Size(max = 100)
+    @Column(name = "content_type", length = 100, nullable = false)
+    private String contentType;
+
+    @Lob
+    @NotNull
+    @Column(name = "content", nullable = false)
+    private byte[] content;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMediaId() {
+        return this.mediaId;
+    }
+
+    public MediaThumbnail mediaId(String mediaId) {
+        this.setMediaId(mediaId);
+        return this;
+    }
+
+    public void setMediaId(String mediaId) {
+        this.mediaId = mediaId;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public MediaThumbnail size(int size) {
+        this.setSize(size);
+        return this;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public MediaThumbnail contentType(String contentType) {
+        this.setContentType(contentType);
+        return this;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public byte[] getContent() {
+        return this.content;
+    }
+
+    public MediaThumbnail content(byte[] content) {
+        this.setContent(content);
+        return this;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MediaThumbnail)) {
+            return false;
+        }
+        return id != null && id.equals(((MediaThumbnail) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MediaThumbnail{" +
+            "id=" + getId() +
+            ", mediaId='" + getMediaId() + "'" +
+            ", size=" + getSize() +
+            ", contentType='" + getContentType() + "'" +
+            "}";
+    }
+}
@@ -1,5 +1,7 @@
 package com.tennisly.club.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.tennisly.club.domain.enumeration.Gender;
 import com.tennisly.club.domain.enumeration.GeneralStatus;
 import com.tennisly.club.domain.enumeration.Level;
@@ -34,10 +36,15 @@ public class Player implements Serializable {
     @Column(name = "phone")
     private String phone;
 
-    @Lob
-    @Column(name = "photo")
+    /**
+     * Uploaded photo content, moved into the media store on save and never serialized back.
+     */
+    @Transient
     private byte[] photo;
 
+    @Column(name = "photo_id", length = 64)
+    private String photoId;
+
     @Column(name = "photo_content_type")
     private String photoContentType;
 
@@ -45,6 +52,21 @@ public class Player implements Serializable {
     @Column(name = "status")
     private GeneralStatus status;
 
+    /**
+     * Elo rating, changed only from match results by {@link com.tennisly.club.service.RatingService};
+     * never written when the player is saved.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "rating", insertable = false, updatable = false)
+    private Integer rating;
+
+    /**
+     * Number of changes of the rating, written with it by {@link com.tennisly.club.service.RatingService}.
+     */
+    @JsonIgnore
+    @Column(name = "rating_version", insertable = false, updatable = false)
+    private Long ratingVersion;
+
     @OneToOne
     @JoinColumn(unique = true)
     private User internalUser;
@@ -114,6 +136,7 @@ public class Player implements Serializable {
         this.phone = phone;
     }
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     public byte[] getPhoto() {
         return this.photo;
     }
@@ -127,6 +150,19 @@ public class Player implements Serializable {
         this.photo = photo;
     }
 
+    public String getPhotoId() {
+        return this.photoId;
+    }
+
+    public Player photoId(String photoId) {
+        this.setPhotoId(photoId);
+        return this;
+    }
+
+    public void setPhotoId(String photoId) {
+        this.photoId = photoId;
+    }
+
     public String getPhotoContentType() {
         return this.photoContentType;
     }
@@ -153,6 +189,27 @@ public class Player implements Serializable {
         this.status = status;
     }
 
+    public Integer getRating() {
+        return this.rating;
+    }
+
+    public Player rating(Integer rating) {
+        this.setRating(rating);
+        return this;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public Long getRatingVersion() {
+        return this.ratingVersion;
+    }
+
+    public void setRatingVersion(Long ratingVersion) {
+        this.ratingVersion = ratingVersion;
+    }
+
     public User getInternalUser() {
         return this.internalUser;
     }
@@ -194,9 +251,10 @@ public class Player implements Serializable {
             ", gender='" + getGender() + "'" +
             ", level='" + getLevel() + "'" +
             ", phone='" + getPhone() + "'" +
-            ", photo='" + getPhoto() + "'" +
+            ", photoId='" + getPhotoId() + "'" +
             ", photoContentType='" + getPhotoContentType() + "'" +
             ", status='" + getStatus() + "'" +
+            ", rating=" + getRating() +
             "}";
     }
 }
@@ -0,0 +1,9 @@
+package com.tennisly.club.domain.enumeration;
+
+/**
+ * The kind of resource a {@link com.tennisly.club.domain.BookingSlot} holds.
+ */
+public enum BookingResource {
+    CORD,
+    PLAYER
+}
@@ -0,0 +1,46 @@
+package com.tennisly.club.domain.enumeration;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The moves of a challenge between {@link ChallengeStatus}es, and the players of the challenge who may make them.
+ */
+public enum ChallengeTransition {
+    ACCEPT(ChallengeStatus.ACCEPTED, EnumSet.of(ChallengeStatus.REQUESTED), false),
+    REJECT(ChallengeStatus.REJECTED, EnumSet.of(ChallengeStatus.REQUESTED), false),
+    CANCEL(ChallengeStatus.CANCELLED, EnumSet.of(ChallengeStatus.REQUESTED, ChallengeStatus.ACCEPTED), true);
+
+    private final ChallengeStatus target;
+
+    private final Set<ChallengeStatus> sources;
+
+    private final boolean proposerAllowed;
+
+    ChallengeTransition(ChallengeStatus target, Set<ChallengeStatus> sources, boolean proposerAllowed) {
+        this.target = target;
+        this.sources = sources;
+        this.proposerAllowed = proposerAllowed;
+    }
+
+    /**
+     * @return the status of the challenge after the transition.
+     */
+    public ChallengeStatus getTarget() {
+        return target;
+    }
+
+    /**
+     * @return the statuses the challenge may be in before the transition.
+     */
+    public Set<ChallengeStatus> getSources() {
+        return sources;
+    }
+
+    /**
+     * @return whether the proposer of the challenge may make the transition, besides its acceptor.
+     */
+    public boolean isProposerAllowed() {
+        return proposerAllowed;
+    }
+}
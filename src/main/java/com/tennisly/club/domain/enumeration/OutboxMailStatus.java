@@ -0,0 +1,9 @@
+package com.tennisly.club.domain.enumeration;
+
+/**
+ * The delivery state of a {@link com.tennisly.club.domain.OutboxMail}. Sent mails are deleted.
+ */
+public enum OutboxMailStatus {
+    PENDING,
+    FAILED
+}
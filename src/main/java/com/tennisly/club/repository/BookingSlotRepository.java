@@ -0,0 +1,16 @@
+package com.tennisly.club.repository;
+
+import com.tennisly.club.domain.BookingSlot;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the BookingSlot entity.
+ */
+@Repository
+public interface BookingSlotRepository extends JpaRepository<BookingSlot, Long> {
+    @Modifying
+    @Query("delete from BookingSlot b where b.challengeId = :challengeId")
+    void deleteByChallengeId(@Param("challengeId") Long challengeId);
+}
@@ -1,17 +1,144 @@
 package com.tennisly.club.repository;
 
 import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.enumeration.ChallengeStatus;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import javax.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Challenge entity.
+ * <p>
+ * Listing methods fetch the court, both players and their internal users in the same statement,
+ * instead of one select per eager association and row.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface ChallengeRepository extends JpaRepository<Challenge, Long>, JpaSpecificationExecutor<Challenge> {
+    @EntityGraph(attributePaths = { "cord", "proposer.internalUser", "acceptor.internalUser" })
     Page<Challenge> findAllByAcceptor_IdOrProposer_Id(Long accepterId, Long proposerId, Pageable pageable);
+
+    /**
+     * Ids of a player's challenges, as proposer or acceptor, which come after the given position in (matchTime, id) order.
+     * <p>
+     * Each side is its own branch of the UNION, a range scan on its (player, match_time) index which stops after
+     * {@code size} rows, so the cost does not depend on the position. Challenges without a match time are left out.
+     */
+    @Query(
+        value = "select feed.id from (" +
+        "(select c.id, c.match_time from challenge c" +
+        " where c.proposer_id = :playerId" +
+        " and c.match_time >= :matchTime and (c.match_time > :matchTime or c.id > :id)" +
+        " order by c.match_time, c.id limit :size)" +
+        " union all " +
+        "(select c.id, c.match_time from challenge c" +
+        " where c.acceptor_id = :playerId and (c.proposer_id is null or c.proposer_id <> :playerId)" +
+        " and c.match_time >= :matchTime and (c.match_time > :matchTime or c.id > :id)" +
+        " order by c.match_time, c.id limit :size)" +
+        ") feed order by feed.match_time, feed.id limit :size",
+        nativeQuery = true
+    )
+    List<Long> findFeedIds(
+        @Param("playerId") Long playerId,
+        @Param("matchTime") Instant matchTime,
+        @Param("id") Long id,
+        @Param("size") int size
+    );
+
+    /**
+     * Court, players and match time of every challenge in the given state which has a match time,
+     * read as plain columns so no association is loaded.
+     */
+    @Query(
+        "select c.id as id, c.matchTime as matchTime, c.cord.id as cordId, c.proposer.id as proposerId, c.acceptor.id as acceptorId" +
+        " from Challenge c where c.challengeStatus = :challengeStatus and c.matchTime is not null" +
+        " and (c.status is null or c.status <> :excludedStatus)"
+    )
+    List<ChallengeSlot> findAllSlots(
+        @Param("challengeStatus") ChallengeStatus challengeStatus,
+        @Param("excludedStatus") GeneralStatus excludedStatus
+    );
+
+    /**
+     * Proposer and acceptor of every challenge which has both, read as plain columns.
+     */
+    @Query(
+        "select c.id as id, c.proposer.id as proposerId, c.acceptor.id as acceptorId from Challenge c" +
+        " where c.proposer is not null and c.acceptor is not null"
+    )
+    List<ChallengePlayers> findAllPlayers();
+
+    /**
+     * Set the status of a challenge if it is currently in one of the given statuses, and the given player is its
+     * acceptor, or its proposer when the proposer is allowed.
+     *
+     * @return the number of updated rows: 0 if the challenge does not exist, is in another status, or the player may not
+     * change it.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update Challenge c set c.challengeStatus = :target where c.id = :id and c.challengeStatus in :sources" +
+        " and (c.acceptor.id = :playerId or (:proposerAllowed = true and c.proposer.id = :playerId))"
+    )
+    int updateChallengeStatus(
+        @Param("id") Long id,
+        @Param("sources") Collection<ChallengeStatus> sources,
+        @Param("target") ChallengeStatus target,
+        @Param("playerId") Long playerId,
+        @Param("proposerAllowed") boolean proposerAllowed
+    );
+
+    /**
+     * Read a challenge and lock its row until the transaction ends, so a concurrent status change waits for an update
+     * made from what was read.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Challenge c where c.id = :id")
+    Optional<Challenge> findOneForUpdate(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = { "cord", "proposer.internalUser", "acceptor.internalUser" })
+    List<Challenge> findAllByIdIn(Collection<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = { "cord", "proposer.internalUser", "acceptor.internalUser" })
+    List<Challenge> findAll(Specification<Challenge> spec);
+
+    @Override
+    @EntityGraph(attributePaths = { "cord", "proposer.internalUser", "acceptor.internalUser" })
+    Page<Challenge> findAll(Specification<Challenge> spec, Pageable pageable);
+
+    /**
+     * The columns of a challenge which decide what it books.
+     */
+    interface ChallengeSlot {
+        Long getId();
+
+        Instant getMatchTime();
+
+        Long getCordId();
+
+        Long getProposerId();
+
+        Long getAcceptorId();
+    }
+
+    /**
+     * The two players of a challenge.
+     */
+    interface ChallengePlayers {
+        Long getId();
+
+        Long getProposerId();
+
+        Long getAcceptorId();
+    }
 }
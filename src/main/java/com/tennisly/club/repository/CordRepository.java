@@ -1,7 +1,10 @@
 package com.tennisly.club.repository;
 
 import com.tennisly.club.domain.Cord;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,49 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CordRepository extends JpaRepository<Cord, Long>, JpaSpecificationExecutor<Cord> {}
+public interface CordRepository extends JpaRepository<Cord, Long>, JpaSpecificationExecutor<Cord>, SliceSpecificationExecutor<Cord> {
+    /**
+     * The searchable attributes of every cord, read as plain columns.
+     */
+    @Query("select c.id as id, c.name as name, c.imageId as imageId, c.status as status from Cord c")
+    List<CordName> findAllNames();
+
+    /**
+     * The attributes of a cord needed to find it by name and to show it.
+     */
+    interface CordName {
+        Long getId();
+
+        String getName();
+
+        String getImageId();
+
+        GeneralStatus getStatus();
+    }
+
+    /**
+     * The attributes of every active cord with a location, read as plain columns.
+     */
+    @Query(
+        "select c.id as id, c.name as name, c.adress as adress, c.imageId as imageId, c.latitude as latitude, c.longitude as longitude" +
+        " from Cord c where c.status = :status and c.latitude is not null and c.longitude is not null"
+    )
+    List<CordLocation> findAllLocations(@Param("status") GeneralStatus status);
+
+    /**
+     * The attributes of a cord needed to find it near a location and to show it.
+     */
+    interface CordLocation {
+        Long getId();
+
+        String getName();
+
+        String getAdress();
+
+        String getImageId();
+
+        Double getLatitude();
+
+        Double getLongitude();
+    }
+}
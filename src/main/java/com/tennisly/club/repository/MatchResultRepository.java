@@ -0,0 +1,54 @@
+package com.tennisly.club.repository;
+
+import com.tennisly.club.domain.MatchResult;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the MatchResult entity.
+ */
+@Repository
+public interface MatchResultRepository extends JpaRepository<MatchResult, Long> {
+    Optional<MatchResult> findOneByChallenge_Id(Long challengeId);
+
+    boolean existsByChallenge_Id(Long challengeId);
+
+    /**
+     * Players and winner of the results which come after the given one, in the order they were submitted.
+     */
+    @Query(
+        "select r.id as id, c.proposer.id as proposerId, c.acceptor.id as acceptorId, r.winner.id as winnerId" +
+        " from MatchResult r join r.challenge c where r.id > :id order by r.id"
+    )
+    List<RatedMatch> findRatedMatchesAfter(@Param("id") Long id, Pageable pageable);
+
+    long countByIdLessThanEqual(Long id);
+
+    @Modifying
+    @Query(
+        "update MatchResult r set r.proposerRatingChange = :proposerRatingChange, r.acceptorRatingChange = :acceptorRatingChange" +
+        " where r.id = :id"
+    )
+    void updateRatingChanges(
+        @Param("id") Long id,
+        @Param("proposerRatingChange") int proposerRatingChange,
+        @Param("acceptorRatingChange") int acceptorRatingChange
+    );
+
+    /**
+     * What replaying a result needs to know.
+     */
+    interface RatedMatch {
+        Long getId();
+
+        Long getProposerId();
+
+        Long getAcceptorId();
+
+        Long getWinnerId();
+    }
+}
@@ -0,0 +1,38 @@
+package com.tennisly.club.repository;
+
+import com.tennisly.club.domain.Media;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link Media} entity.
+ */
+@Repository
+public interface MediaRepository extends JpaRepository<Media, String> {
+    @Query("select m.id as id, m.contentType as contentType, m.contentLength as contentLength from Media m where m.id = :id")
+    Optional<MediaInfo> findInfoById(@Param("id") String id);
+
+    @Modifying
+    @Query(
+        "delete from Media m where m.createdDate < :createdBefore" +
+        " and m.id not in (select p.photoId from Player p where p.photoId is not null)" +
+        " and m.id not in (select c.imageId from Cord c where c.imageId is not null)"
+    )
+    int deleteUnreferencedCreatedBefore(@Param("createdBefore") Instant createdBefore);
+
+    /**
+     * What serving media needs to know, without its content.
+     */
+    interface MediaInfo {
+        String getId();
+
+        String getContentType();
+
+        long getContentLength();
+    }
+}
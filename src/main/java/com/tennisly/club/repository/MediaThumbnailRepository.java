@@ -0,0 +1,26 @@
+package com.tennisly.club.repository;
+
+import com.tennisly.club.domain.MediaThumbnail;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link MediaThumbnail} entity.
+ */
+@Repository
+public interface MediaThumbnailRepository extends JpaRepository<MediaThumbnail, Long> {
+    Optional<MediaThumbnail> findOneByMediaIdAndSize(String mediaId, int size);
+
+    @Modifying
+    @Query(
+        "delete from MediaThumbnail t where t.mediaId in (select m.id from Media m where m.createdDate < :createdBefore" +
+        " and m.id not in (select p.photoId from Player p where p.photoId is not null)" +
+        " and m.id not in (select c.imageId from Cord c where c.imageId is not null))"
+    )
+    int deleteOfUnreferencedMediaCreatedBefore(@Param("createdBefore") Instant createdBefore);
+}
@@ -0,0 +1,29 @@
+package com.tennisly.club.repository;
+
+import com.tennisly.club.domain.OutboxMail;
+import com.tennisly.club.domain.enumeration.OutboxMailStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import javax.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the OutboxMail entity.
+ */
+@Repository
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+    /**
+     * The mails due to be sent, oldest first, locked until the transaction ends so that only one sender takes them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from OutboxMail m where m.status = :status and m.nextAttemptAt <= :now order by m.nextAttemptAt, m.id")
+    List<OutboxMail> findDue(@Param("status") OutboxMailStatus status, @Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from OutboxMail m where m.id in :ids")
+    void deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
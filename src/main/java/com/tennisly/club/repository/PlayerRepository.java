@@ -2,16 +2,99 @@ package com.tennisly.club.repository;
 
 import com.tennisly.club.domain.Player;
 import com.tennisly.club.domain.User;
+import com.tennisly.club.domain.enumeration.Gender;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import com.tennisly.club.domain.enumeration.Level;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data SQL repository for the Player entity.
+ * <p>
+ * Listing methods fetch the internal user in the same statement, instead of one select per row.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PlayerRepository extends JpaRepository<Player, Long>, JpaSpecificationExecutor<Player> {
+public interface PlayerRepository
+    extends JpaRepository<Player, Long>, JpaSpecificationExecutor<Player>, SliceSpecificationExecutor<Player> {
     Optional<Player> findOneByInternalUser_Login(String login);
     Optional<Player> findOneByInternalUser_Id(Long id);
+
+    @EntityGraph(attributePaths = "internalUser")
+    Page<Player> findAllByInternalUser_IdNot(Long userId, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "internalUser")
+    List<Player> findAll(Specification<Player> spec);
+
+    @Override
+    @EntityGraph(attributePaths = "internalUser")
+    Page<Player> findAll(Specification<Player> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "internalUser")
+    Slice<Player> findSlice(Specification<Player> spec, Pageable pageable);
+
+    @Modifying
+    @Query("update Player p set p.rating = p.rating + :change, p.ratingVersion = p.ratingVersion + 1 where p.id = :id")
+    void addRating(@Param("id") Long id, @Param("change") int change);
+
+    @Modifying
+    @Query("update Player p set p.rating = :rating, p.ratingVersion = p.ratingVersion + 1 where p.id = :id")
+    void updateRating(@Param("id") Long id, @Param("rating") int rating);
+
+    @Query("select p.id as id, p.rating as rating, p.ratingVersion as ratingVersion from Player p where p.id = :id")
+    Optional<PlayerRating> findRatingById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Player p set p.rating = :rating, p.ratingVersion = p.ratingVersion + 1")
+    void resetRatings(@Param("rating") int rating);
+
+    /**
+     * The matchmaking, leaderboard and search attributes of every player, read as plain columns.
+     */
+    @Query(
+        "select p.id as id, p.fullName as fullName, p.level as level, p.gender as gender, p.photoId as photoId, p.status as status," +
+        " p.rating as rating, p.ratingVersion as ratingVersion from Player p"
+    )
+    List<PlayerProfile> findAllProfiles();
+
+    /**
+     * The attributes of a player which decide who it is matched with, where it is ranked and how it is found.
+     */
+    interface PlayerProfile {
+        Long getId();
+
+        String getFullName();
+
+        Level getLevel();
+
+        Gender getGender();
+
+        String getPhotoId();
+
+        GeneralStatus getStatus();
+
+        Integer getRating();
+
+        Long getRatingVersion();
+    }
+
+    /**
+     * The rating of a player, with the number of times it was changed.
+     */
+    interface PlayerRating {
+        Long getId();
+
+        Integer getRating();
+
+        Long getRatingVersion();
+    }
 }
@@ -0,0 +1,25 @@
+package com.tennisly.club.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link Specification} queries which return a {@link Slice} instead of a {@link org.springframework.data.domain.Page}.
+ * <p>
+ * One more row than the page size is read to know whether there is a next slice, and no count query is run.
+ * Implemented for every repository by {@link SliceJpaRepository}; an overriding declaration in a repository
+ * can carry an {@link org.springframework.data.jpa.repository.EntityGraph}.
+ *
+ * @param <T> the domain type.
+ */
+public interface SliceSpecificationExecutor<T> {
+    /**
+     * Returns a {@link Slice} of entities matching the given {@link Specification}.
+     *
+     * @param spec the specification, can be {@literal null}.
+     * @param pageable the offset, size and sort of the slice.
+     * @return the slice.
+     */
+    Slice<T> findSlice(Specification<T> spec, Pageable pageable);
+}
@@ -0,0 +1,148 @@
+package com.tennisly.club.security;
+
+import com.tennisly.club.config.ApplicationProperties;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A {@link PasswordEncoder} which runs another one, BCrypt, on a bounded pool of threads, and remembers the passwords
+ * it has just checked.
+ * <p>
+ * Hashing or checking a password takes tens of milliseconds of CPU. Doing it on threads of its own, with a bounded
+ * queue, keeps a burst of logins or HTTP Basic calls from taking the CPU of every request thread: when the queue is
+ * full, a {@link TooManyAuthenticationsException} is thrown and the request gets a {@code 429}.
+ * <p>
+ * A password which matches its hash is kept in the {@value #VERIFIED_CREDENTIAL_CACHE} cache under that hash, as an
+ * HMAC with a key made at startup, so the next calls with the same password skip BCrypt. A new password has a new
+ * hash, which the entries of the old one never match, and {@link #forget(String)} drops them.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    public static final String VERIFIED_CREDENTIAL_CACHE = "verifiedCredential";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Cache verifiedCredentials;
+
+    private final SecretKeySpec credentialKey;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ApplicationProperties.PasswordHashing properties, CacheManager cacheManager) {
+        this.delegate = delegate;
+        this.executor =
+            new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-")
+            );
+        this.verifiedCredentials = Objects.requireNonNull(cacheManager.getCache(VERIFIED_CREDENTIAL_CACHE));
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.credentialKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null || encodedPassword.isEmpty()) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        byte[] credential = hmac(encodedPassword, rawPassword);
+        byte[] verified = verifiedCredentials.get(encodedPassword, byte[].class);
+        if (verified != null && MessageDigest.isEqual(verified, credential)) {
+            return true;
+        }
+        boolean matches = run(() -> delegate.matches(rawPassword, encodedPassword));
+        if (matches) {
+            verifiedCredentials.put(encodedPassword, credential);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Forget the passwords checked against a hash, when it is replaced.
+     *
+     * @param encodedPassword the replaced hash.
+     */
+    public void forget(String encodedPassword) {
+        if (encodedPassword != null) {
+            verifiedCredentials.evict(encodedPassword);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> result;
+        try {
+            result = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Rejected a password check: {} are queued", executor.getQueue().size());
+            throw new TooManyAuthenticationsException("Too many passwords are being checked, retry later", e);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new InternalAuthenticationServiceException("Interrupted while checking a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new InternalAuthenticationServiceException("Could not check a password", e.getCause());
+        }
+    }
+
+    private byte[] hmac(String encodedPassword, CharSequence rawPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(credentialKey);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
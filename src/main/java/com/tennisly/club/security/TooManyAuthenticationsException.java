@@ -0,0 +1,22 @@
+package com.tennisly.club.security;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * This exception is thrown when the threads checking passwords are all busy, so the request should be retried later.
+ * <p>
+ * It is an {@link InternalAuthenticationServiceException} so that authentication stops at once instead of trying
+ * the next provider.
+ */
+public class TooManyAuthenticationsException extends InternalAuthenticationServiceException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TooManyAuthenticationsException(String message) {
+        super(message);
+    }
+
+    public TooManyAuthenticationsException(String message, Throwable t) {
+        super(message, t);
+    }
+}
@@ -0,0 +1,392 @@
+package com.tennisly.club.service;
+
+import com.tennisly.club.config.ApplicationProperties;
+import com.tennisly.club.domain.BookingSlot;
+import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.enumeration.BookingResource;
+import com.tennisly.club.domain.enumeration.ChallengeStatus;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import com.tennisly.club.repository.BookingSlotRepository;
+import com.tennisly.club.repository.ChallengeRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Availability of courts and players, answered from an in-memory index of the accepted {@link Challenge}s.
+ * <p>
+ * An accepted challenge holds its court and both players for {@code application.booking.match-duration} from its match time.
+ * The index keeps these intervals per court and per player, sorted by start, so checking a slot is one range lookup per
+ * resource. It is changed by {@link #book(Challenge)} and {@link #release(Long)} in the transaction which changes the
+ * challenge; a rollback undoes the change.
+ * <p>
+ * The same transaction writes the {@link BookingSlot}s of the challenge, whose unique constraint rejects two accepts of
+ * the same court or player at the same time which got past the index together, e.g. on two instances.
+ */
+@Service
+public class BookingService {
+
+    private final Logger log = LoggerFactory.getLogger(BookingService.class);
+
+    private final ChallengeRepository challengeRepository;
+
+    private final BookingSlotRepository bookingSlotRepository;
+
+    private final ApplicationProperties.Booking properties;
+
+    private final InMemoryIndex index = new InMemoryIndex(log, "bookings", this::load);
+
+    private final Map<Long, NavigableMap<Instant, Long>> cordIndex = new HashMap<>();
+
+    private final Map<Long, NavigableMap<Instant, Long>> playerIndex = new HashMap<>();
+
+    private final Map<Long, Slot> slotsByChallenge = new HashMap<>();
+
+    public BookingService(
+        ChallengeRepository challengeRepository,
+        BookingSlotRepository bookingSlotRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.challengeRepository = challengeRepository;
+        this.bookingSlotRepository = bookingSlotRepository;
+        this.properties = applicationProperties.getBooking();
+    }
+
+    /**
+     * Load the bookings once the application is started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        index.loadOnStartup();
+    }
+
+    /**
+     * Check that a court and players are free for a match starting at the given time.
+     *
+     * @param cordId the id of the court, or {@code null} to skip it.
+     * @param playerIds the ids of the players; {@code null} ids are skipped.
+     * @param matchTime the start of the match.
+     * @return true if no accepted challenge holds any of them during the match.
+     */
+    public boolean isFree(Long cordId, Collection<Long> playerIds, Instant matchTime) {
+        return index.read(() -> {
+            if (cordId != null && overlaps(cordIndex.get(cordId), matchTime, null)) {
+                return false;
+            }
+            return playerIds.stream().filter(Objects::nonNull).noneMatch(id -> overlaps(playerIndex.get(id), matchTime, null));
+        });
+    }
+
+    /**
+     * List the match times at which a court is free on a day, one match after the other from the opening hour.
+     *
+     * @param cordId the id of the court.
+     * @param day the day, in {@code application.booking.zone-id}.
+     * @return the free match times, in order.
+     */
+    public List<Instant> findFreeSlots(Long cordId, LocalDate day) {
+        Duration matchDuration = properties.getMatchDuration();
+        ZoneId zoneId = properties.getZoneId();
+        Instant closing = day.atTime(properties.getClosingHour(), 0).atZone(zoneId).toInstant();
+        return index.read(() -> {
+            List<Instant> freeSlots = new ArrayList<>();
+            NavigableMap<Instant, Long> intervals = cordIndex.get(cordId);
+            for (
+                Instant start = day.atTime(properties.getOpeningHour(), 0).atZone(zoneId).toInstant();
+                !start.plus(matchDuration).isAfter(closing);
+                start = start.plus(matchDuration)
+            ) {
+                if (!overlaps(intervals, start, null)) {
+                    freeSlots.add(start);
+                }
+            }
+            return freeSlots;
+        });
+    }
+
+    /**
+     * Update the bookings of a challenge which was just saved: an accepted challenge with a match time holds its court
+     * and players, any other holds nothing.
+     * <p>
+     * Must be called in the transaction which saved the challenge.
+     *
+     * @param challenge the saved challenge.
+     * @throws SlotAlreadyBookedException if another accepted challenge holds the court or a player at that time.
+     */
+    public void book(Challenge challenge) {
+        Slot slot = Slot.of(challenge);
+        Slot previous = index.write(() -> {
+            Slot current = slotsByChallenge.get(challenge.getId());
+            if (!Objects.equals(current, slot)) {
+                remove(current);
+                if (slot != null && conflicts(slot)) {
+                    add(current);
+                    throw new SlotAlreadyBookedException();
+                }
+                add(slot);
+            }
+            return current;
+        });
+        if (Objects.equals(previous, slot)) {
+            return;
+        }
+        undoOnRollback(challenge.getId(), previous);
+
+        log.debug("Booking {} for Challenge : {}", slot, challenge.getId());
+        bookingSlotRepository.deleteByChallengeId(challenge.getId());
+        if (slot != null) {
+            try {
+                bookingSlotRepository.saveAll(slot.toBookingSlots());
+                bookingSlotRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                throw new SlotAlreadyBookedException();
+            }
+        }
+    }
+
+    /**
+     * Free the court and players held by a challenge which is being deleted.
+     * <p>
+     * Must be called in the transaction which deletes the challenge, before it is deleted.
+     *
+     * @param challengeId the id of the challenge.
+     */
+    public void release(Long challengeId) {
+        index.ensureLoaded();
+        log.debug("Releasing bookings of Challenge : {}", challengeId);
+        bookingSlotRepository.deleteByChallengeId(challengeId);
+        index.afterCommit(() -> remove(slotsByChallenge.get(challengeId)));
+    }
+
+    private void load() {
+        cordIndex.clear();
+        playerIndex.clear();
+        slotsByChallenge.clear();
+        challengeRepository
+            .findAllSlots(ChallengeStatus.ACCEPTED, GeneralStatus.DELETED)
+            .forEach(row ->
+                add(new Slot(row.getId(), row.getMatchTime(), row.getCordId(), playerIds(row.getProposerId(), row.getAcceptorId())))
+            );
+        log.info("Loaded {} bookings", slotsByChallenge.size());
+    }
+
+    /**
+     * Put back the slot a challenge had before the current transaction if it rolls back.
+     * <p>
+     * The slot is recorded at the first change of each challenge in the transaction, and the undo of the transaction is
+     * registered once, so a rollback restores every challenge however many times and in whatever order it was booked.
+     *
+     * @param challengeId the id of the challenge being changed.
+     * @param previous its slot before this change.
+     */
+    private void undoOnRollback(Long challengeId, Slot previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Undo undo = TransactionSynchronizationManager
+            .getSynchronizations()
+            .stream()
+            .filter(synchronization -> synchronization instanceof Undo && ((Undo) synchronization).owner() == this)
+            .map(Undo.class::cast)
+            .findFirst()
+            .orElseGet(() -> {
+                Undo created = new Undo();
+                TransactionSynchronizationManager.registerSynchronization(created);
+                return created;
+            });
+        if (!undo.originalSlots.containsKey(challengeId)) {
+            undo.originalSlots.put(challengeId, previous);
+        }
+    }
+
+    /**
+     * The slots the challenges changed by one transaction had before it, put back if it rolls back.
+     */
+    private final class Undo implements TransactionSynchronization {
+
+        private final Map<Long, Slot> originalSlots = new HashMap<>();
+
+        BookingService owner() {
+            return BookingService.this;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                return;
+            }
+            index.write(() -> {
+                originalSlots.forEach((challengeId, slot) -> {
+                    remove(slotsByChallenge.get(challengeId));
+                    add(slot);
+                });
+            });
+        }
+    }
+
+    private boolean conflicts(Slot slot) {
+        if (slot.cordId != null && overlaps(cordIndex.get(slot.cordId), slot.start, slot.challengeId)) {
+            return true;
+        }
+        return slot.playerIds.stream().anyMatch(id -> overlaps(playerIndex.get(id), slot.start, slot.challengeId));
+    }
+
+    /**
+     * All matches last the same time, so a match starting at {@code start} overlaps exactly the ones starting less than
+     * one match duration before or after it.
+     */
+    private boolean overlaps(NavigableMap<Instant, Long> intervals, Instant start, Long ignoredChallengeId) {
+        if (intervals == null) {
+            return false;
+        }
+        Duration matchDuration = properties.getMatchDuration();
+        return intervals
+            .subMap(start.minus(matchDuration), false, start.plus(matchDuration), false)
+            .values()
+            .stream()
+            .anyMatch(challengeId -> !challengeId.equals(ignoredChallengeId));
+    }
+
+    private void add(Slot slot) {
+        if (slot == null) {
+            return;
+        }
+        if (slot.cordId != null) {
+            cordIndex.computeIfAbsent(slot.cordId, id -> new TreeMap<>()).put(slot.start, slot.challengeId);
+        }
+        slot.playerIds.forEach(id -> playerIndex.computeIfAbsent(id, key -> new TreeMap<>()).put(slot.start, slot.challengeId));
+        slotsByChallenge.put(slot.challengeId, slot);
+    }
+
+    private void remove(Slot slot) {
+        if (slot == null) {
+            return;
+        }
+        if (slot.cordId != null) {
+            removeInterval(cordIndex, slot.cordId, slot);
+        }
+        slot.playerIds.forEach(id -> removeInterval(playerIndex, id, slot));
+        slotsByChallenge.remove(slot.challengeId, slot);
+    }
+
+    private static void removeInterval(Map<Long, NavigableMap<Instant, Long>> index, Long resourceId, Slot slot) {
+        NavigableMap<Instant, Long> intervals = index.get(resourceId);
+        if (intervals != null && intervals.remove(slot.start, slot.challengeId) && intervals.isEmpty()) {
+            index.remove(resourceId);
+        }
+    }
+
+    private static Set<Long> playerIds(Long proposerId, Long acceptorId) {
+        Set<Long> playerIds = new LinkedHashSet<>();
+        if (proposerId != null) {
+            playerIds.add(proposerId);
+        }
+        if (acceptorId != null) {
+            playerIds.add(acceptorId);
+        }
+        return Collections.unmodifiableSet(playerIds);
+    }
+
+    /**
+     * The court and players held by one challenge from its match time.
+     */
+    private static final class Slot {
+
+        private final Long challengeId;
+
+        private final Instant start;
+
+        private final Long cordId;
+
+        private final Set<Long> playerIds;
+
+        Slot(Long challengeId, Instant start, Long cordId, Set<Long> playerIds) {
+            this.challengeId = challengeId;
+            this.start = start;
+            this.cordId = cordId;
+            this.playerIds = playerIds;
+        }
+
+        /**
+         * @return the slot held by the challenge, or {@code null} if it holds nothing.
+         */
+        static Slot of(Challenge challenge) {
+            if (
+                challenge.getChallengeStatus() != ChallengeStatus.ACCEPTED ||
+                challenge.getMatchTime() == null ||
+                challenge.getStatus() == GeneralStatus.DELETED
+            ) {
+                return null;
+            }
+            return new Slot(
+                challenge.getId(),
+                challenge.getMatchTime(),
+                challenge.getCord() != null ? challenge.getCord().getId() : null,
+                playerIds(
+                    challenge.getProposer() != null ? challenge.getProposer().getId() : null,
+                    challenge.getAcceptor() != null ? challenge.getAcceptor().getId() : null
+                )
+            );
+        }
+
+        List<BookingSlot> toBookingSlots() {
+            List<BookingSlot> bookingSlots = new ArrayList<>();
+            if (cordId != null) {
+                bookingSlots.add(toBookingSlot(BookingResource.CORD, cordId));
+            }
+            playerIds.forEach(id -> bookingSlots.add(toBookingSlot(BookingResource.PLAYER, id)));
+            return bookingSlots;
+        }
+
+        private BookingSlot toBookingSlot(BookingResource resourceType, Long resourceId) {
+            return new BookingSlot().challengeId(challengeId).resourceType(resourceType).resourceId(resourceId).startTime(start);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Slot)) {
+                return false;
+            }
+            Slot slot = (Slot) o;
+            return (
+                challengeId.equals(slot.challengeId) &&
+                start.equals(slot.start) &&
+                Objects.equals(cordId, slot.cordId) &&
+                playerIds.equals(slot.playerIds)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(challengeId, start, cordId, playerIds);
+        }
+
+        @Override
+        public String toString() {
+            return "Slot{start=" + start + ", cordId=" + cordId + ", playerIds=" + playerIds + "}";
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.tennisly.club.service;
+
+import com.tennisly.club.config.ApplicationProperties;
+import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.service.dto.ChallengeEventDTO;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes the changes of challenges to their proposer and acceptor as server-sent events, so clients need not poll.
+ * <p>
+ * Each connection has a bounded buffer of events, written to it by a pool of its own, apart from the task executor:
+ * a connection whose buffer is full is closed rather than holding events for a client which does not read them, and
+ * a write blocked by such a client fails after the {@code WRITE_TIMEOUT} of the server, freeing its thread. Every
+ * event has an id and the last ones are kept, so a client reconnecting with the id of the last event it received, as
+ * browsers do with {@code Last-Event-ID}, gets the events it missed. When they are no longer kept, it gets a {@code resync} event and
+ * should load its challenges once. Idle connections get a comment every heartbeat interval.
+ */
+@Service
+public class ChallengeEventService {
+
+    static final String CHALLENGE_EVENT = "challenge";
+
+    static final String RESYNC_EVENT = "resync";
+
+    /** How long a browser waits before reconnecting a closed stream. */
+    private static final long RECONNECT_MILLIS = 3000;
+
+    private final Logger log = LoggerFactory.getLogger(ChallengeEventService.class);
+
+    private final ApplicationProperties.ChallengeEvents properties;
+
+    private final Executor executor;
+
+    private final TaskScheduler taskScheduler;
+
+    /** Distinguishes the event ids of this run from those of a previous one, whose events are not kept. */
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final ConcurrentMap<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    /** The last events, oldest first. Events are numbered, kept and delivered under its lock. */
+    private final ArrayDeque<Event> history = new ArrayDeque<>();
+
+    private long sequence;
+
+    public ChallengeEventService(
+        ApplicationProperties applicationProperties,
+        @Qualifier("challengeEventExecutor") Executor executor,
+        TaskScheduler taskScheduler
+    ) {
+        this.properties = applicationProperties.getChallengeEvents();
+        this.executor = executor;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * Start sending heartbeats once the application is started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleHeartbeats() {
+        taskScheduler.scheduleWithFixedDelay(this::heartbeat, properties.getHeartbeatInterval());
+    }
+
+    /**
+     * Open a stream of the changes of a player's challenges.
+     *
+     * @param playerId the id of the player.
+     * @param lastEventId the id of the last event received before reconnecting, or {@code null} for a new stream.
+     * @return the stream.
+     */
+    public SseEmitter subscribe(Long playerId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Connection connection = new Connection(playerId, emitter);
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unregister(connection));
+        connection.offer(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected"));
+        synchronized (history) {
+            if (lastEventId != null && !lastEventId.isEmpty()) {
+                replay(connection, lastEventId);
+            }
+            connections.computeIfAbsent(playerId, key -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+        log.debug("Player {} subscribed to challenge events after {}", playerId, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Push a challenge which was just saved to its players, once the transaction commits.
+     *
+     * @param challenge the saved challenge.
+     */
+    public void publish(Challenge challenge) {
+        afterCommit(toEvent(challenge, false));
+    }
+
+    /**
+     * Push the deletion of a challenge to its players, once the transaction commits.
+     *
+     * @param challenge the challenge being deleted.
+     */
+    public void publishDeletion(Challenge challenge) {
+        afterCommit(toEvent(challenge, true));
+    }
+
+    private void heartbeat() {
+        for (Set<Connection> playerConnections : connections.values()) {
+            playerConnections.forEach(connection -> connection.offer(SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    private void replay(Connection connection, String lastEventId) {
+        long last = -1;
+        int separator = lastEventId.indexOf('-');
+        if (separator > 0 && epoch.equals(lastEventId.substring(0, separator))) {
+            try {
+                last = Long.parseLong(lastEventId.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                // resynchronized below
+            }
+        }
+        long oldestKept = history.isEmpty() ? sequence + 1 : history.getFirst().sequence;
+        if (last < oldestKept - 1 || last > sequence) {
+            connection.offer(SseEmitter.event().id(eventId(sequence)).name(RESYNC_EVENT).data(""));
+            return;
+        }
+        for (Event event : history) {
+            if (event.sequence > last && event.isFor(connection.playerId)) {
+                connection.offer(event.toSse());
+            }
+        }
+    }
+
+    private void deliver(ChallengeEventDTO challengeEvent) {
+        synchronized (history) {
+            Event event = new Event(++sequence, challengeEvent);
+            history.addLast(event);
+            if (history.size() > properties.getHistorySize()) {
+                history.removeFirst();
+            }
+            deliver(event, challengeEvent.getProposerId());
+            if (challengeEvent.getAcceptorId() != null && !challengeEvent.getAcceptorId().equals(challengeEvent.getProposerId())) {
+                deliver(event, challengeEvent.getAcceptorId());
+            }
+        }
+    }
+
+    private void deliver(Event event, Long playerId) {
+        Set<Connection> playerConnections = playerId != null ? connections.get(playerId) : null;
+        if (playerConnections != null) {
+            playerConnections.forEach(connection -> connection.offer(event.toSse()));
+        }
+    }
+
+    private void unregister(Connection connection) {
+        connections.computeIfPresent(
+            connection.playerId,
+            (playerId, playerConnections) -> {
+                playerConnections.remove(connection);
+                return playerConnections.isEmpty() ? null : playerConnections;
+            }
+        );
+    }
+
+    private String eventId(long eventSequence) {
+        return epoch + "-" + eventSequence;
+    }
+
+    private static ChallengeEventDTO toEvent(Challenge challenge, boolean deleted) {
+        return new ChallengeEventDTO(
+            challenge.getId(),
+            challenge.getChallengeStatus(),
+            challenge.getStatus(),
+            challenge.getMatchTime(),
+            challenge.getCord() != null ? challenge.getCord().getId() : null,
+            challenge.getProposer() != null ? challenge.getProposer().getId() : null,
+            challenge.getAcceptor() != null ? challenge.getAcceptor().getId() : null,
+            deleted
+        );
+    }
+
+    /**
+     * Deliver an event once the current transaction commits, or right away without a transaction.
+     */
+    private void afterCommit(ChallengeEventDTO challengeEvent) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(challengeEvent);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(challengeEvent);
+                }
+            }
+        );
+    }
+
+    /**
+     * A change of a challenge, numbered in the order it was committed.
+     */
+    private final class Event {
+
+        private final long sequence;
+
+        private final ChallengeEventDTO challengeEvent;
+
+        Event(long sequence, ChallengeEventDTO challengeEvent) {
+            this.sequence = sequence;
+            this.challengeEvent = challengeEvent;
+        }
+
+        boolean isFor(long playerId) {
+            return (
+                (challengeEvent.getProposerId() != null && challengeEvent.getProposerId() == playerId) ||
+                (challengeEvent.getAcceptorId() != null && challengeEvent.getAcceptorId() == playerId)
+            );
+        }
+
+        /**
+         * @return a new builder of the event: builders cannot be sent twice.
+         */
+        SseEmitter.SseEventBuilder toSse() {
+            return SseEmitter.event().id(eventId(sequence)).name(CHALLENGE_EVENT).data(challengeEvent, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * A stream of one player, with the events not written to it yet.
+     */
+    private final class Connection {
+
+        private final long playerId;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+
+        /**
+         * Whether a task of the executor is writing the buffer, so that there is at most one. Its holder is also the only
+         * one to complete the emitter: completing waits for a write in progress, which may be blocked by a slow client.
+         */
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        Connection(long playerId, SseEmitter emitter) {
+            this.playerId = playerId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.debug("Closing the challenge events of Player {}: its buffer is full", playerId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (TaskRejectedException e) {
+                    draining.set(false);
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client went away: the container completes the emitter
+                log.debug("Could not send challenge events to Player {}: {}", playerId, e.getMessage());
+                closed = true;
+                unregister(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (closed) {
+                complete();
+            } else if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            unregister(this);
+            complete();
+        }
+
+        /**
+         * Complete the emitter unless a write is in progress, in which case the drain completes it once the write returns.
+         * The emitter is completed once: {@link #draining} is kept, so no drain starts after it.
+         */
+        private void complete() {
+            if (draining.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+    }
+}
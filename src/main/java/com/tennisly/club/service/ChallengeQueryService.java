@@ -3,20 +3,20 @@ package com.tennisly.club.service;
 import com.tennisly.club.domain.*; // for static metamodels
 import com.tennisly.club.domain.Challenge;
 import com.tennisly.club.repository.ChallengeRepository;
-import com.tennisly.club.repository.PlayerRepository;
-import com.tennisly.club.repository.UserRepository;
-import com.tennisly.club.security.SecurityUtils;
 import com.tennisly.club.service.criteria.ChallengeCriteria;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,12 +32,20 @@ import tech.jhipster.service.QueryService;
 @Transactional(readOnly = true)
 public class ChallengeQueryService extends QueryService<Challenge> {
 
+    /**
+     * Position before every challenge of the feed: the smallest DATETIME value MySQL stores.
+     */
+    private static final Instant FEED_START = Instant.parse("1000-01-01T00:00:00Z");
+
     private final Logger log = LoggerFactory.getLogger(ChallengeQueryService.class);
 
     private final ChallengeRepository challengeRepository;
 
-    public ChallengeQueryService(ChallengeRepository challengeRepository) {
+    private final CurrentPlayerContext currentPlayerContext;
+
+    public ChallengeQueryService(ChallengeRepository challengeRepository, CurrentPlayerContext currentPlayerContext) {
         this.challengeRepository = challengeRepository;
+        this.currentPlayerContext = currentPlayerContext;
     }
 
     /**
@@ -53,31 +61,50 @@ public class ChallengeQueryService extends QueryService<Challenge> {
     }
 
     /**
-     * Return a {@link Page} of {@link Challenge} which matches the criteria from the database.
+     * Return a {@link Page} of the current player's {@link Challenge}s, as proposer or acceptor.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
-     * @return the matching entities.
+     * @return the matching entities, or an empty page if the current user has no player.
      */
-
-    @Autowired
-    UserService userService;
-
-    @Autowired
-    PlayerRepository playerRepository;
-
     @Transactional(readOnly = true)
     public Page<Challenge> findByCriteria(ChallengeCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<Challenge> specification = createSpecification(criteria);
+        return currentPlayerContext
+            .getPlayerId()
+            .map(playerId -> challengeRepository.findAllByAcceptor_IdOrProposer_Id(playerId, playerId, page))
+            .orElse(Page.empty());
+    }
 
-        final Optional<User> user = userService.getUserWithAuthorities();
-        if (user.isPresent()) {
-            Optional<Player> player = playerRepository.findOneByInternalUser_Id(user.get().getId());
-            if (player.isPresent()) {
-                return challengeRepository.findAllByAcceptor_IdOrProposer_Id(player.get().getId(), player.get().getId(), page);
-            }
-        }
-        return Page.empty();
+    /**
+     * Return a {@link Slice} of the current player's {@link Challenge}s, as proposer or acceptor,
+     * ordered by match time and id and starting after the given position.
+     * @param matchTime the match time of the last challenge already returned, or {@code null} for the first slice.
+     * @param id the id of the last challenge already returned, or {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the challenges, or an empty slice if the current user has no player.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Challenge> findFeed(Instant matchTime, Long id, int size) {
+        log.debug("find feed after : {}, {}, size: {}", matchTime, id, size);
+        Pageable pageable = Pageable.ofSize(size);
+        return currentPlayerContext
+            .getPlayerId()
+            .<Slice<Challenge>>map(playerId -> {
+                List<Long> ids = challengeRepository.findFeedIds(
+                    playerId,
+                    matchTime != null ? matchTime : FEED_START,
+                    id != null ? id : 0L,
+                    size + 1
+                );
+                boolean hasNext = ids.size() > size;
+                List<Challenge> challenges = challengeRepository
+                    .findAllByIdIn(hasNext ? ids.subList(0, size) : ids)
+                    .stream()
+                    .sorted(Comparator.comparing(Challenge::getMatchTime).thenComparing(Challenge::getId))
+                    .collect(Collectors.toList());
+                return new SliceImpl<>(challenges, pageable, hasNext);
+            })
+            .orElse(new SliceImpl<>(List.of(), pageable, false));
     }
 
     /**
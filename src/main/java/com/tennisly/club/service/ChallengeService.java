@@ -1,6 +1,7 @@
 package com.tennisly.club.service;
 
 import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.enumeration.ChallengeTransition;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,13 +19,44 @@ public interface ChallengeService {
     Challenge save(Challenge challenge);
 
     /**
-     * Partially updates a challenge.
+     * Update a challenge as one of its players.
+     * <p>
+     * Its status is only changed by {@link #transition(Long, ChallengeTransition)}.
+     *
+     * @param challenge the entity to update.
+     * @return the persisted entity, or empty if it does not exist.
+     * @throws org.springframework.security.access.AccessDeniedException if the current player is not a player of the challenge.
+     * @throws InvalidChallengeException if the update changes the status.
+     */
+    Optional<Challenge> update(Challenge challenge);
+
+    /**
+     * Partially updates a challenge as one of its players.
+     * <p>
+     * Its status is only changed by {@link #transition(Long, ChallengeTransition)}.
      *
      * @param challenge the entity to update partially.
      * @return the persisted entity.
+     * @throws org.springframework.security.access.AccessDeniedException if the current player is not a player of the challenge.
+     * @throws InvalidChallengeException if the update changes the status.
      */
     Optional<Challenge> partialUpdate(Challenge challenge);
 
+    /**
+     * Move a challenge to the target status of a transition, if it is still in one of its source statuses and the
+     * current player may make the transition.
+     * <p>
+     * The status and the player are checked and the status changed by a single conditional update, so of two concurrent
+     * transitions of the same challenge only one succeeds.
+     *
+     * @param id the id of the challenge.
+     * @param transition the transition.
+     * @return the updated entity, or empty if there is no such challenge.
+     * @throws org.springframework.security.access.AccessDeniedException if the current player may not make the transition.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the challenge is not in a source status.
+     */
+    Optional<Challenge> transition(Long id, ChallengeTransition transition);
+
     /**
      * Get all the challenges.
      *
@@ -9,11 +9,15 @@ import javax.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.LongFilter;
 
 /**
  * Service for executing complex queries for {@link Cord} entities in the database.
@@ -58,6 +62,24 @@ public class CordQueryService extends QueryService<Cord> {
         return cordRepository.findAll(specification, page);
     }
 
+    /**
+     * Return a {@link Slice} of {@link Cord} which matches the criteria from the database, ordered by id
+     * and starting after the given id. No count query is run.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param afterId the id of the last cord already returned, or {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Cord> findByCriteria(CordCriteria criteria, Long afterId, int size) {
+        log.debug("find by criteria : {}, after: {}, size: {}", criteria, afterId, size);
+        Specification<Cord> specification = createSpecification(criteria);
+        if (afterId != null) {
+            specification = specification.and(buildRangeSpecification(new LongFilter().setGreaterThan(afterId), Cord_.id));
+        }
+        return cordRepository.findSlice(specification, PageRequest.of(0, size, Sort.by(Cord_.ID)));
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -0,0 +1,120 @@
+package com.tennisly.club.service;
+
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.User;
+import com.tennisly.club.repository.PlayerRepository;
+import com.tennisly.club.repository.UserRepository;
+import com.tennisly.club.security.SecurityUtils;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the ids of the current {@link User} and of their {@link Player}.
+ * <p>
+ * The ids are cached by login for a short time (see {@link com.tennisly.club.config.CacheConfiguration}),
+ * so services can ask for them as often as they need without going back to the database.
+ * Evictions are applied after the surrounding transaction commits, so a concurrent request
+ * cannot cache the state that is being replaced.
+ */
+@Component
+public class CurrentPlayerContext {
+
+    public static final String IDENTITY_BY_LOGIN_CACHE = "currentPlayerIdentityByLogin";
+
+    private final Logger log = LoggerFactory.getLogger(CurrentPlayerContext.class);
+
+    private final UserRepository userRepository;
+
+    private final PlayerRepository playerRepository;
+
+    private final Cache cache;
+
+    public CurrentPlayerContext(UserRepository userRepository, PlayerRepository playerRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.playerRepository = playerRepository;
+        this.cache = new TransactionAwareCacheDecorator(Objects.requireNonNull(cacheManager.getCache(IDENTITY_BY_LOGIN_CACHE)));
+    }
+
+    /**
+     * Get the id of the current user.
+     *
+     * @return the id, or empty if nobody is logged in.
+     */
+    public Optional<Long> getUserId() {
+        return getIdentity().map(Identity::getUserId);
+    }
+
+    /**
+     * Get the id of the player of the current user.
+     *
+     * @return the id, or empty if nobody is logged in or the current user has no player.
+     */
+    public Optional<Long> getPlayerId() {
+        return getIdentity().map(Identity::getPlayerId);
+    }
+
+    /**
+     * Forget the ids resolved for a login, when its user is changed or deleted.
+     *
+     * @param login the login of the user.
+     */
+    public void evict(String login) {
+        log.debug("Evicting identity of login : {}", login);
+        cache.evict(login);
+    }
+
+    /**
+     * Forget all resolved ids, when a player is changed or deleted: the owner of a player can be reassigned,
+     * and the login of the previous owner is not known at that point.
+     */
+    public void evictAll() {
+        log.debug("Evicting all identities");
+        cache.clear();
+    }
+
+    private Optional<Identity> getIdentity() {
+        return SecurityUtils
+            .getCurrentUserLogin()
+            .map(login -> cache.get(login, () -> resolve(login)))
+            .filter(identity -> identity.getUserId() != null);
+    }
+
+    private Identity resolve(String login) {
+        log.debug("Resolving identity of login : {}", login);
+        Long userId = userRepository.findOneByLogin(login).map(User::getId).orElse(null);
+        Long playerId = userId != null ? playerRepository.findOneByInternalUser_Id(userId).map(Player::getId).orElse(null) : null;
+        return new Identity(userId, playerId);
+    }
+
+    /**
+     * The ids resolved for one login; both are {@code null} when the login is unknown.
+     */
+    static final class Identity implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Long userId;
+
+        private final Long playerId;
+
+        Identity(Long userId, Long playerId) {
+            this.userId = userId;
+            this.playerId = playerId;
+        }
+
+        Long getUserId() {
+            return userId;
+        }
+
+        Long getPlayerId() {
+            return playerId;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.tennisly.club.service;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The lifecycle of the in-memory index of a service: loaded from the database once, at startup or on first use if the
+ * schema is not there yet (Liquibase runs asynchronously in development), read under a read lock, and changed under
+ * the write lock once the transaction which made the change commits.
+ */
+final class InMemoryIndex {
+
+    private final Logger log;
+
+    private final String name;
+
+    private final Runnable loader;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean loaded;
+
+    /**
+     * @param log the logger of the service.
+     * @param name what the index holds, for the logs.
+     * @param loader clears the index and fills it from the database, under the write lock.
+     */
+    InMemoryIndex(Logger log, String name, Runnable loader) {
+        this.log = log;
+        this.name = name;
+        this.loader = loader;
+    }
+
+    /**
+     * Load the index once the application is started, or leave it to be loaded on first use if that fails.
+     */
+    void loadOnStartup() {
+        try {
+            ensureLoaded();
+        } catch (DataAccessException e) {
+            log.warn("Could not load the {} at startup, it will be loaded on first use: {}", name, e.getMessage());
+        }
+    }
+
+    void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                loader.run();
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Read the index under the read lock, loading it first if needed.
+     */
+    <T> T read(Supplier<T> reader) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Change the index under the write lock right away, loading it first if needed.
+     */
+    <T> T write(Supplier<T> writer) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            return writer.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void write(Runnable writer) {
+        write(() -> {
+            writer.run();
+            return null;
+        });
+    }
+
+    /**
+     * Apply a change under the write lock once the current transaction commits, or right away without a transaction.
+     * Changes made before the index is loaded are skipped: loading reads them from the database.
+     */
+    void afterCommit(Runnable action) {
+        afterCommit(() -> null, value -> action.run());
+    }
+
+    /**
+     * Read from the database once the current transaction commits, or right away without a transaction, then apply
+     * what was read under the write lock. The read runs outside the lock, so readers of the index never wait for the
+     * database; the action must check that what was read is still newer than the index.
+     */
+    <T> void afterCommit(Supplier<T> reader, Consumer<T> action) {
+        Runnable apply = () -> {
+            if (!loaded) {
+                return;
+            }
+            T value = reader.get();
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    action.accept(value);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            }
+        );
+    }
+
+    /**
+     * Load the whole index again on its next use, once the current transaction commits.
+     */
+    void reloadAfterCommit() {
+        afterCommit(() -> loaded = false);
+    }
+}
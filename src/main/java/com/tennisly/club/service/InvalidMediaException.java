@@ -0,0 +1,21 @@
+package com.tennisly.club.service;
+
+public class InvalidMediaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String errorKey;
+
+    public InvalidMediaException() {
+        this("Only PNG, JPEG, GIF and WebP images can be uploaded!", "invalidmediatype");
+    }
+
+    public InvalidMediaException(String message, String errorKey) {
+        super(message);
+        this.errorKey = errorKey;
+    }
+
+    public String getErrorKey() {
+        return errorKey;
+    }
+}
@@ -0,0 +1,451 @@
+package com.tennisly.club.service;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.tennisly.club.config.ApplicationProperties;
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import com.tennisly.club.domain.enumeration.Level;
+import com.tennisly.club.repository.PlayerRepository;
+import com.tennisly.club.service.dto.LeaderboardEntryDTO;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ranks the active players by rating, over all players and within each {@link Level}, from an in-memory index.
+ * <p>
+ * Each leaderboard counts its players per rating in a Fenwick tree, so the rank of a rating is found in logarithmic
+ * time, and keeps its players sorted by rating then id in an order-statistic treap, so the player at a given position
+ * is found in logarithmic time too, however many players share a rating.
+ * Players and ratings are changed by {@link PlayerService} and {@link RatingService}.
+ */
+@Service
+public class LeaderboardService {
+
+    /** Ratings are counted from 0 to this value; ratings outside are ranked as the nearest bound. */
+    static final int MAX_RATING = 4000;
+
+    private final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private final PlayerRepository playerRepository;
+
+    private final ApplicationProperties.Rating properties;
+
+    private final InMemoryIndex index = new InMemoryIndex(log, "leaderboards", this::load);
+
+    private final Board overall = new Board();
+
+    private final EnumMap<Level, Board> byLevel = new EnumMap<>(Level.class);
+
+    private final LongObjectHashMap<Ranked> players = new LongObjectHashMap<>();
+
+    public LeaderboardService(PlayerRepository playerRepository, ApplicationProperties applicationProperties) {
+        this.playerRepository = playerRepository;
+        this.properties = applicationProperties.getRating();
+        for (Level level : Level.values()) {
+            byLevel.put(level, new Board());
+        }
+    }
+
+    /**
+     * Load the leaderboards once the application is started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        index.loadOnStartup();
+    }
+
+    /**
+     * List the players of a leaderboard from a position, best first.
+     *
+     * @param level the level of the leaderboard, or {@code null} for all players.
+     * @param position the position of the first player, from 1; players of equal rating are ordered by id.
+     * @param size the maximum number of players.
+     * @return the players with their rank.
+     */
+    public List<LeaderboardEntryDTO> findRange(Level level, int position, int size) {
+        return index.read(() -> {
+            Board board = board(level);
+            List<LeaderboardEntryDTO> entries = new ArrayList<>(size);
+            if (position < 1 || position > board.size()) {
+                return entries;
+            }
+            int bucket = 0;
+            int rank = 0;
+            for (Node node : board.range(position, size)) {
+                if (node.bucket != bucket) {
+                    bucket = node.bucket;
+                    rank = board.countUpTo(bucket - 1) + 1;
+                }
+                entries.add(players.get(node.playerId).toEntry(rank));
+            }
+            return entries;
+        });
+    }
+
+    /**
+     * Get the rank of a player on a leaderboard.
+     *
+     * @param playerId the id of the player.
+     * @param level the level of the leaderboard, or {@code null} for all players.
+     * @return the player with their rank, or empty if they are not on that leaderboard.
+     */
+    public Optional<LeaderboardEntryDTO> findRank(Long playerId, Level level) {
+        return index.read(() -> {
+            Ranked ranked = players.get(playerId);
+            if (ranked == null || !ranked.active || (level != null && level != ranked.level)) {
+                return Optional.empty();
+            }
+            return Optional.of(ranked.toEntry(board(level).rankOf(ranked.rating)));
+        });
+    }
+
+    /**
+     * Update a player which was just saved, once the transaction commits. Their rating is left as it is.
+     *
+     * @param player the saved player.
+     */
+    public void updatePlayer(Player player) {
+        Long playerId = player.getId();
+        String fullName = player.getFullName();
+        Level level = player.getLevel();
+        boolean active = player.getStatus() == GeneralStatus.ACTIVE;
+        index.afterCommit(() -> {
+            Ranked previous = remove(playerId);
+            if (previous != null) {
+                add(new Ranked(playerId, fullName, level, previous.rating, previous.ratingVersion, active));
+            } else {
+                add(new Ranked(playerId, fullName, level, properties.getInitialRating(), 0, active));
+            }
+        });
+    }
+
+    /**
+     * Remove a player which is being deleted, once the transaction commits.
+     *
+     * @param playerId the id of the player.
+     */
+    public void removePlayer(Long playerId) {
+        index.afterCommit(() -> remove(playerId));
+    }
+
+    /**
+     * Move a player to their committed rating, once the transaction which changed it commits.
+     * <p>
+     * The rating is read again rather than applied as a change, so that a reload, or the callback of another
+     * transaction, running between the commit and this callback does not count it twice. It is read before taking the
+     * write lock, and applied only if its version is newer than the one in the index, so a callback which read
+     * before a concurrent change cannot put an older rating back.
+     *
+     * @param playerId the id of the player.
+     */
+    public void refreshRating(Long playerId) {
+        index.afterCommit(
+            () -> playerRepository.findRatingById(playerId),
+            committed ->
+                committed.ifPresent(row -> {
+                    Ranked previous = players.get(playerId);
+                    if (previous != null && row.getRatingVersion() > previous.ratingVersion) {
+                        remove(playerId);
+                        add(
+                            new Ranked(
+                                playerId,
+                                previous.fullName,
+                                previous.level,
+                                rating(row.getRating()),
+                                row.getRatingVersion(),
+                                previous.active
+                            )
+                        );
+                    }
+                })
+        );
+    }
+
+    /**
+     * Load every rating again once the transaction commits, after they were all recomputed.
+     */
+    public void reload() {
+        index.reloadAfterCommit();
+    }
+
+    private void load() {
+        overall.clear();
+        byLevel.values().forEach(Board::clear);
+        players.clear();
+        playerRepository
+            .findAllProfiles()
+            .forEach(row ->
+                add(
+                    new Ranked(
+                        row.getId(),
+                        row.getFullName(),
+                        row.getLevel(),
+                        rating(row.getRating()),
+                        row.getRatingVersion() != null ? row.getRatingVersion() : 0,
+                        row.getStatus() == GeneralStatus.ACTIVE
+                    )
+                )
+            );
+        log.info("Loaded leaderboards of {} players", overall.size());
+    }
+
+    private int rating(Integer rating) {
+        return rating != null ? rating : properties.getInitialRating();
+    }
+
+    private Board board(Level level) {
+        return level != null ? byLevel.get(level) : overall;
+    }
+
+    private void add(Ranked ranked) {
+        players.put(ranked.playerId, ranked);
+        if (ranked.active) {
+            overall.add(ranked.playerId, ranked.rating);
+            if (ranked.level != null) {
+                byLevel.get(ranked.level).add(ranked.playerId, ranked.rating);
+            }
+        }
+    }
+
+    private Ranked remove(long playerId) {
+        Ranked ranked = players.remove(playerId);
+        if (ranked != null && ranked.active) {
+            overall.remove(ranked.playerId, ranked.rating);
+            if (ranked.level != null) {
+                byLevel.get(ranked.level).remove(ranked.playerId, ranked.rating);
+            }
+        }
+        return ranked;
+    }
+
+    /**
+     * One leaderboard. Ratings are stored as buckets from 1 (the highest rating) to {@code MAX_RATING + 1} (rating 0),
+     * so that the count of the buckets up to a rating is the number of players ranked above or with it.
+     */
+    private static final class Board {
+
+        private static final int BUCKETS = MAX_RATING + 1;
+
+        /** Fenwick tree of the number of players per bucket. */
+        private final int[] tree = new int[BUCKETS + 1];
+
+        /** Root of the treap of the players, ordered by bucket then id, each node counting the nodes below it. */
+        private Node root;
+
+        static int bucket(int rating) {
+            return MAX_RATING - Math.max(0, Math.min(rating, MAX_RATING)) + 1;
+        }
+
+        int size() {
+            return Node.size(root);
+        }
+
+        void add(long playerId, int rating) {
+            int bucket = bucket(rating);
+            Node[] parts = Node.split(root, bucket, playerId);
+            root = Node.merge(Node.merge(parts[0], new Node(bucket, playerId)), parts[1]);
+            update(bucket, 1);
+        }
+
+        void remove(long playerId, int rating) {
+            int bucket = bucket(rating);
+            int before = size();
+            root = Node.delete(root, bucket, playerId);
+            if (size() < before) {
+                update(bucket, -1);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(tree, 0);
+            root = null;
+        }
+
+        /**
+         * @return the players from a position, between 1 and {@link #size()}, in order, at most {@code limit} of them.
+         */
+        List<Node> range(int position, int limit) {
+            List<Node> range = new ArrayList<>(limit);
+            // The path to the node at the position, keeping only the nodes which come after it in order.
+            Deque<Node> next = new ArrayDeque<>();
+            Node node = root;
+            int remaining = position;
+            while (node != null) {
+                int before = Node.size(node.left);
+                if (remaining <= before) {
+                    next.push(node);
+                    node = node.left;
+                } else if (remaining == before + 1) {
+                    next.push(node);
+                    node = null;
+                } else {
+                    remaining -= before + 1;
+                    node = node.right;
+                }
+            }
+            while (!next.isEmpty() && range.size() < limit) {
+                Node current = next.pop();
+                range.add(current);
+                for (Node left = current.right; left != null; left = left.left) {
+                    next.push(left);
+                }
+            }
+            return range;
+        }
+
+        /**
+         * @return the rank of a rating: one more than the number of players with a higher rating.
+         */
+        int rankOf(int rating) {
+            return countUpTo(bucket(rating) - 1) + 1;
+        }
+
+        /**
+         * @return the number of players in the buckets up to the given one.
+         */
+        int countUpTo(int bucket) {
+            int count = 0;
+            for (int i = bucket; i > 0; i -= i & -i) {
+                count += tree[i];
+            }
+            return count;
+        }
+
+        private void update(int bucket, int delta) {
+            for (int i = bucket; i <= BUCKETS; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+    }
+
+    /**
+     * A player in the treap of a {@link Board}: a binary search tree by bucket then id, and a heap by a random priority,
+     * so that it stays balanced with high probability.
+     */
+    private static final class Node {
+
+        private final int bucket;
+
+        private final long playerId;
+
+        private final int priority = ThreadLocalRandom.current().nextInt();
+
+        private int size = 1;
+
+        private Node left;
+
+        private Node right;
+
+        Node(int bucket, long playerId) {
+            this.bucket = bucket;
+            this.playerId = playerId;
+        }
+
+        static int size(Node node) {
+            return node != null ? node.size : 0;
+        }
+
+        /**
+         * @return the nodes before the given bucket and id, and the others.
+         */
+        static Node[] split(Node node, int bucket, long playerId) {
+            if (node == null) {
+                return new Node[] { null, null };
+            }
+            if (node.compareTo(bucket, playerId) < 0) {
+                Node[] parts = split(node.right, bucket, playerId);
+                node.right = parts[0];
+                parts[0] = node.resize();
+                return parts;
+            }
+            Node[] parts = split(node.left, bucket, playerId);
+            node.left = parts[1];
+            parts[1] = node.resize();
+            return parts;
+        }
+
+        /**
+         * @return the nodes of both treaps, all those of the first one being before those of the second one.
+         */
+        static Node merge(Node first, Node second) {
+            if (first == null || second == null) {
+                return first != null ? first : second;
+            }
+            if (first.priority > second.priority) {
+                first.right = merge(first.right, second);
+                return first.resize();
+            }
+            second.left = merge(first, second.left);
+            return second.resize();
+        }
+
+        static Node delete(Node node, int bucket, long playerId) {
+            if (node == null) {
+                return null;
+            }
+            int comparison = node.compareTo(bucket, playerId);
+            if (comparison == 0) {
+                return merge(node.left, node.right);
+            }
+            if (comparison < 0) {
+                node.right = delete(node.right, bucket, playerId);
+            } else {
+                node.left = delete(node.left, bucket, playerId);
+            }
+            return node.resize();
+        }
+
+        private int compareTo(int otherBucket, long otherPlayerId) {
+            int comparison = Integer.compare(bucket, otherBucket);
+            return comparison != 0 ? comparison : Long.compare(playerId, otherPlayerId);
+        }
+
+        private Node resize() {
+            size = size(left) + size(right) + 1;
+            return this;
+        }
+    }
+
+    /**
+     * What a leaderboard shows of a player.
+     */
+    private static final class Ranked {
+
+        private final long playerId;
+
+        private final String fullName;
+
+        private final Level level;
+
+        private final int rating;
+
+        /** Version of the rating, from the database; only a newer rating replaces it. */
+        private final long ratingVersion;
+
+        private final boolean active;
+
+        Ranked(long playerId, String fullName, Level level, int rating, long ratingVersion, boolean active) {
+            this.playerId = playerId;
+            this.fullName = fullName;
+            this.level = level;
+            this.rating = rating;
+            this.ratingVersion = ratingVersion;
+            this.active = active;
+        }
+
+        LeaderboardEntryDTO toEntry(int rank) {
+            return new LeaderboardEntryDTO(rank, playerId, fullName, level, rating);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.tennisly.club.service;
+
+import com.tennisly.club.config.ApplicationProperties;
+import com.tennisly.club.domain.OutboxMail;
+import com.tennisly.club.domain.enumeration.OutboxMailStatus;
+import com.tennisly.club.repository.OutboxMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Sends the mails of the {@link OutboxMail} table, in batches over one SMTP connection, from a thread of its own.
+ * <p>
+ * A batch is taken in a short transaction which locks the due mails and moves them forward by the lease, so that no
+ * other sender takes them while they are sent. Sent mails are then deleted; failed ones are tried again with an
+ * exponential backoff, and marked {@link OutboxMailStatus#FAILED} after the last attempt. Mails to a domain which
+ * already got its limit for the minute are moved to the next minute. If the application stops between sending and
+ * deleting a batch, the batch is sent again once the lease ends: mails are sent at least once.
+ */
+@Service
+public class MailOutboxSender {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxSender.class);
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final OutboxMailRepository outboxMailRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    /** Whether a run asked for by {@link #wakeUp()} has not started yet, so that there is at most one. */
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    /** The mails taken per recipient domain in the current minute, only used by the sender thread. */
+    private final Map<String, DomainWindow> domainWindows = new HashMap<>();
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter failedCounter;
+
+    private final Counter throttledCounter;
+
+    private final Timer batchTimer;
+
+    public MailOutboxSender(
+        ApplicationProperties applicationProperties,
+        JHipsterProperties jHipsterProperties,
+        OutboxMailRepository outboxMailRepository,
+        JavaMailSender javaMailSender,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = applicationProperties.getMailOutbox();
+        this.jHipsterProperties = jHipsterProperties;
+        this.outboxMailRepository = outboxMailRepository;
+        this.javaMailSender = javaMailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sentCounter = meterRegistry.counter("mail.outbox.sent");
+        this.retriedCounter = meterRegistry.counter("mail.outbox.retried");
+        this.failedCounter = meterRegistry.counter("mail.outbox.failed");
+        this.throttledCounter = meterRegistry.counter("mail.outbox.throttled");
+        this.batchTimer = meterRegistry.timer("mail.outbox.batch");
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("mail-outbox-");
+        scheduler.initialize();
+    }
+
+    /**
+     * Poll the outbox once the application is started, for the mails left by a previous run and those to retry.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::sendDue, properties.getPollInterval());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Send the due mails without waiting for the next poll, once the current transaction commits.
+     */
+    public void wakeUp() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleRun();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleRun();
+                }
+            }
+        );
+    }
+
+    private void scheduleRun() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                wakeUpPending.set(false);
+                sendDue();
+            });
+        }
+    }
+
+    /**
+     * Send batches until there are no more due mails.
+     */
+    private void sendDue() {
+        try {
+            int taken;
+            do {
+                taken = sendBatch();
+            } while (taken == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Could not send the mail outbox, it will be tried again: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of due mails looked at, sent or not.
+     */
+    private int sendBatch() {
+        Instant now = Instant.now();
+        List<OutboxMail> due = new ArrayList<>();
+        List<OutboxMail> batch = transactionTemplate.execute(status -> take(now, due));
+        if (batch == null || batch.isEmpty()) {
+            return due.size();
+        }
+
+        Map<MimeMessage, OutboxMail> messages = new LinkedHashMap<>();
+        Map<Long, Exception> failures = new HashMap<>();
+        for (OutboxMail mail : batch) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException e) {
+                failures.put(mail.getId(), e);
+            }
+        }
+        if (!messages.isEmpty()) {
+            batchTimer.record(() -> send(messages, failures));
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        batch.stream().map(OutboxMail::getId).filter(id -> !failures.containsKey(id)).forEach(sentIds::add);
+        transactionTemplate.executeWithoutResult(status -> record(sentIds, failures, Instant.now()));
+        log.debug("Sent {} mails of the outbox, {} failed", sentIds.size(), failures.size());
+        return due.size();
+    }
+
+    /**
+     * Take the due mails which are not throttled, holding them for the lease.
+     */
+    private List<OutboxMail> take(Instant now, List<OutboxMail> due) {
+        domainWindows.values().removeIf(window -> !now.isBefore(window.end));
+        due.addAll(outboxMailRepository.findDue(OutboxMailStatus.PENDING, now, PageRequest.of(0, properties.getBatchSize())));
+        List<OutboxMail> batch = new ArrayList<>(due.size());
+        for (OutboxMail mail : due) {
+            DomainWindow window = domainWindows.computeIfAbsent(domain(mail.getRecipient()), domain -> new DomainWindow(now));
+            if (window.count >= properties.getDomainRateLimit()) {
+                mail.setNextAttemptAt(window.end);
+                throttledCounter.increment();
+            } else {
+                window.count++;
+                mail.setNextAttemptAt(now.plus(properties.getLease()));
+                batch.add(mail);
+            }
+        }
+        return batch;
+    }
+
+    private void send(Map<MimeMessage, OutboxMail> messages, Map<Long, Exception> failures) {
+        try {
+            javaMailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, exception) -> failures.put(messages.get(message).getId(), exception));
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(mail -> failures.put(mail.getId(), e));
+            }
+        } catch (MailException e) {
+            // the connection could not be opened or authenticated: nothing was sent
+            messages.values().forEach(mail -> failures.put(mail.getId(), e));
+        }
+    }
+
+    private void record(List<Long> sentIds, Map<Long, Exception> failures, Instant now) {
+        if (!sentIds.isEmpty()) {
+            outboxMailRepository.deleteByIdIn(sentIds);
+            sentCounter.increment(sentIds.size());
+        }
+        for (OutboxMail mail : outboxMailRepository.findAllById(failures.keySet())) {
+            Exception failure = failures.get(mail.getId());
+            String error = String.valueOf(failure.getMessage());
+            mail.setAttempts(mail.getAttempts() + 1);
+            mail.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (mail.getAttempts() >= properties.getMaxAttempts()) {
+                mail.setStatus(OutboxMailStatus.FAILED);
+                failedCounter.increment();
+                log.warn("Email to '{}' could not be sent after {} attempts", mail.getRecipient(), mail.getAttempts(), failure);
+            } else {
+                mail.setNextAttemptAt(now.plus(backoff(mail.getAttempts())));
+                retriedCounter.increment();
+                log.debug("Email to '{}' could not be sent, it will be tried again: {}", mail.getRecipient(), error);
+            }
+        }
+    }
+
+    private MimeMessage toMimeMessage(OutboxMail mail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.isMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getContent(), mail.isHtml());
+        return mimeMessage;
+    }
+
+    /**
+     * @return the wait before the next attempt: the initial backoff, doubled after each failure, up to the maximum.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private static String domain(String recipient) {
+        return recipient.substring(recipient.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The number of mails taken for a domain within a minute.
+     */
+    private static final class DomainWindow {
+
+        private final Instant end;
+
+        private int count;
+
+        DomainWindow(Instant start) {
+            this.end = start.plus(Duration.ofMinutes(1));
+        }
+    }
+}
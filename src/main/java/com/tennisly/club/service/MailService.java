@@ -1,57 +1,50 @@
 package com.tennisly.club.service;
 
+import com.tennisly.club.domain.OutboxMail;
 import com.tennisly.club.domain.User;
-import java.nio.charset.StandardCharsets;
-import java.util.Locale;
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
+import com.tennisly.club.domain.enumeration.OutboxMailStatus;
+import com.tennisly.club.repository.OutboxMailRepository;
+import com.tennisly.club.service.MailTemplateRenderer.RenderedMail;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring5.SpringTemplateEngine;
-import tech.jhipster.config.JHipsterProperties;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails are written to the {@link OutboxMail} table in the caller's transaction, and sent by
+ * {@link MailOutboxSender} once it commits: a rolled back change sends no mail, and a mail is not lost when the SMTP
+ * server is down or the application stops. Templates are rendered by {@link MailTemplateRenderer}, which compiles
+ * them once per language.
  */
 @Service
+@Transactional
 public class MailService {
 
     private final Logger log = LoggerFactory.getLogger(MailService.class);
 
-    private static final String USER = "user";
+    private final MailTemplateRenderer mailTemplateRenderer;
 
-    private static final String BASE_URL = "baseUrl";
+    private final OutboxMailRepository outboxMailRepository;
 
-    private final JHipsterProperties jHipsterProperties;
-
-    private final JavaMailSender javaMailSender;
-
-    private final MessageSource messageSource;
-
-    private final SpringTemplateEngine templateEngine;
+    private final MailOutboxSender mailOutboxSender;
 
     public MailService(
-        JHipsterProperties jHipsterProperties,
-        JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        MailTemplateRenderer mailTemplateRenderer,
+        OutboxMailRepository outboxMailRepository,
+        MailOutboxSender mailOutboxSender
     ) {
-        this.jHipsterProperties = jHipsterProperties;
-        this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+        this.mailTemplateRenderer = mailTemplateRenderer;
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailOutboxSender = mailOutboxSender;
     }
 
-    @Async
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug(
             "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
@@ -62,51 +55,67 @@ public class MailService {
             content
         );
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            log.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            log.warn("Email could not be sent to user '{}'", to, e);
-        }
+        outboxMailRepository.save(toOutboxMail(to, subject, content, isMultipart, isHtml, Instant.now()));
+        mailOutboxSender.wakeUp();
     }
 
-    @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             log.debug("Email doesn't exist for user '{}'", user.getLogin());
             return;
         }
-        Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        RenderedMail mail = mailTemplateRenderer.render(user, templateName, titleKey);
+        sendEmail(user.getEmail(), mail.getSubject(), mail.getContent(), false, true);
+    }
+
+    /**
+     * Send a template to many users, rendering it once per language and writing the mails in one batch.
+     *
+     * @param users the users; those without an email are skipped.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     */
+    public void sendEmailFromTemplate(Collection<User> users, String templateName, String titleKey) {
+        List<User> recipients = users.stream().filter(user -> user.getEmail() != null).collect(Collectors.toList());
+        log.debug("Send email {} to {} users", templateName, recipients.size());
+        if (recipients.isEmpty()) {
+            return;
+        }
+        List<RenderedMail> rendered = mailTemplateRenderer.renderAll(recipients, templateName, titleKey);
+        Instant now = Instant.now();
+        List<OutboxMail> mails = new ArrayList<>(recipients.size());
+        for (int i = 0; i < recipients.size(); i++) {
+            RenderedMail mail = rendered.get(i);
+            mails.add(toOutboxMail(recipients.get(i).getEmail(), mail.getSubject(), mail.getContent(), false, true, now));
+        }
+        outboxMailRepository.saveAll(mails);
+        mailOutboxSender.wakeUp();
     }
 
-    @Async
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
         sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
     }
+
+    private static OutboxMail toOutboxMail(String to, String subject, String content, boolean isMultipart, boolean isHtml, Instant now) {
+        return new OutboxMail()
+            .recipient(to)
+            .subject(subject)
+            .content(content)
+            .multipart(isMultipart)
+            .html(isHtml)
+            .status(OutboxMailStatus.PENDING)
+            .nextAttemptAt(now)
+            .createdDate(now);
+    }
 }
@@ -0,0 +1,245 @@
+package com.tennisly.club.service;
+
+import com.tennisly.club.domain.User;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.unbescape.html.HtmlEscape;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Renders the email templates of users, compiling each template once per locale.
+ * <p>
+ * A template is compiled by rendering it with Thymeleaf for a user whose fields are markers, and splitting the result
+ * at the markers: rendering it for a user is then joining the parts with the user's escaped fields. The compiled
+ * template is checked against Thymeleaf for a second user with other fields and characters which need escaping, so
+ * a template which does more with a field than print it, and any user with a {@code null} field it prints, is
+ * rendered by Thymeleaf as before. Compiled templates and subjects are kept when {@code spring.thymeleaf.cache} is
+ * on, so templates edited in development are still reloaded.
+ */
+@Service
+public class MailTemplateRenderer {
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    private static final Pattern MARKER = Pattern.compile("zq7mailfield(\\d)z");
+
+    private final Logger log = LoggerFactory.getLogger(MailTemplateRenderer.class);
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final MessageSource messageSource;
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final boolean cache;
+
+    private final ConcurrentMap<String, CompiledTemplate> compiledTemplates = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(
+        JHipsterProperties jHipsterProperties,
+        MessageSource messageSource,
+        SpringTemplateEngine templateEngine,
+        ThymeleafProperties thymeleafProperties
+    ) {
+        this.jHipsterProperties = jHipsterProperties;
+        this.messageSource = messageSource;
+        this.templateEngine = templateEngine;
+        this.cache = thymeleafProperties.isCache();
+    }
+
+    /**
+     * Render a template for a user, in the user's language.
+     *
+     * @param user the user, with a language.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     * @return the rendered mail.
+     */
+    public RenderedMail render(User user, String templateName, String titleKey) {
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        return compiledTemplate(templateName, titleKey, locale).render(user);
+    }
+
+    /**
+     * Render a template for users, compiling it once for each of their languages.
+     *
+     * @param users the users, with a language.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     * @return the rendered mails, in the order of the users.
+     */
+    public List<RenderedMail> renderAll(Collection<User> users, String templateName, String titleKey) {
+        Map<String, CompiledTemplate> byLanguage = new HashMap<>();
+        List<RenderedMail> mails = new ArrayList<>(users.size());
+        for (User user : users) {
+            CompiledTemplate compiledTemplate = byLanguage.computeIfAbsent(
+                user.getLangKey(),
+                langKey -> compiledTemplate(templateName, titleKey, Locale.forLanguageTag(langKey))
+            );
+            mails.add(compiledTemplate.render(user));
+        }
+        return mails;
+    }
+
+    private CompiledTemplate compiledTemplate(String templateName, String titleKey, Locale locale) {
+        if (!cache) {
+            return compile(templateName, titleKey, locale);
+        }
+        String key = templateName + '\n' + titleKey + '\n' + locale.toLanguageTag();
+        CompiledTemplate compiledTemplate = compiledTemplates.get(key);
+        if (compiledTemplate == null) {
+            compiledTemplate = compile(templateName, titleKey, locale);
+            compiledTemplates.putIfAbsent(key, compiledTemplate);
+        }
+        return compiledTemplate;
+    }
+
+    private CompiledTemplate compile(String templateName, String titleKey, Locale locale) {
+        String subject = messageSource.getMessage(titleKey, null, locale);
+        String markedContent = process(templateName, locale, probe(field -> "zq7mailfield" + field.ordinal() + "z"));
+
+        List<String> parts = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        Matcher marker = MARKER.matcher(markedContent);
+        int start = 0;
+        while (marker.find()) {
+            parts.add(markedContent.substring(start, marker.start()));
+            fields.add(Field.values()[Integer.parseInt(marker.group(1))]);
+            start = marker.end();
+        }
+        parts.add(markedContent.substring(start));
+        CompiledTemplate compiledTemplate = new CompiledTemplate(templateName, locale, subject, parts, fields);
+
+        User check = probe(field -> "<b class=\"x\">&'ç" + field.ordinal());
+        if (!process(templateName, locale, check).equals(compiledTemplate.join(check))) {
+            log.debug("Email template {} prints more than the fields of the user, it is rendered for each mail", templateName);
+            return new CompiledTemplate(templateName, locale, subject, null, null);
+        }
+        return compiledTemplate;
+    }
+
+    private String process(String templateName, Locale locale, User user) {
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        return templateEngine.process(templateName, context);
+    }
+
+    private static User probe(Function<Field, String> value) {
+        User user = new User();
+        for (Field field : Field.values()) {
+            field.setter.accept(user, value.apply(field));
+        }
+        return user;
+    }
+
+    /**
+     * The fields of a user a template can print.
+     */
+    private enum Field {
+        LOGIN(User::getLogin, User::setLogin),
+        FIRST_NAME(User::getFirstName, User::setFirstName),
+        LAST_NAME(User::getLastName, User::setLastName),
+        EMAIL(User::getEmail, User::setEmail),
+        ACTIVATION_KEY(User::getActivationKey, User::setActivationKey),
+        RESET_KEY(User::getResetKey, User::setResetKey);
+
+        private final Function<User, String> getter;
+
+        private final BiConsumer<User, String> setter;
+
+        Field(Function<User, String> getter, BiConsumer<User, String> setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    /**
+     * A template rendered in a locale, split at the fields of the user. Without parts, it is rendered by Thymeleaf.
+     */
+    private final class CompiledTemplate {
+
+        private final String templateName;
+
+        private final Locale locale;
+
+        private final String subject;
+
+        private final String[] parts;
+
+        private final Field[] fields;
+
+        private final int length;
+
+        CompiledTemplate(String templateName, Locale locale, String subject, List<String> parts, List<Field> fields) {
+            this.templateName = templateName;
+            this.locale = locale;
+            this.subject = subject;
+            this.parts = parts != null ? parts.toArray(new String[0]) : null;
+            this.fields = fields != null ? fields.toArray(new Field[0]) : null;
+            this.length = parts != null ? parts.stream().mapToInt(String::length).sum() : 0;
+        }
+
+        RenderedMail render(User user) {
+            if (parts == null) {
+                return new RenderedMail(subject, process(templateName, locale, user));
+            }
+            for (Field field : fields) {
+                if (field.getter.apply(user) == null) {
+                    return new RenderedMail(subject, process(templateName, locale, user));
+                }
+            }
+            return new RenderedMail(subject, join(user));
+        }
+
+        String join(User user) {
+            StringBuilder content = new StringBuilder(length + 64 * fields.length);
+            for (int i = 0; i < fields.length; i++) {
+                content.append(parts[i]).append(HtmlEscape.escapeHtml4Xml(fields[i].getter.apply(user)));
+            }
+            return content.append(parts[fields.length]).toString();
+        }
+    }
+
+    /**
+     * The subject and content of a mail rendered for a user.
+     */
+    public static final class RenderedMail {
+
+        private final String subject;
+
+        private final String content;
+
+        RenderedMail(String subject, String content) {
+            this.subject = subject;
+            this.content = content;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+}
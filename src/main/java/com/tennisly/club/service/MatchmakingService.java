@@ -0,0 +1,286 @@
+package com.tennisly.club.service;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.enumeration.Gender;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import com.tennisly.club.domain.enumeration.Level;
+import com.tennisly.club.repository.ChallengeRepository;
+import com.tennisly.club.repository.PlayerRepository;
+import com.tennisly.club.service.dto.OpponentDTO;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Suggests opponents to the current player from an in-memory index, without querying the database.
+ * <p>
+ * The ids of the active players are kept in primitive sets partitioned by {@link Level} and {@link Gender}, next to
+ * the number of challenges each pair of players already had, as changed by {@link PlayerService} and
+ * {@link ChallengeService}.
+ */
+@Service
+public class MatchmakingService {
+
+    private static final Comparator<OpponentDTO> RANKING = Comparator
+        .comparingInt(OpponentDTO::getChallengeCount)
+        .thenComparing(OpponentDTO::getId);
+
+    private final Logger log = LoggerFactory.getLogger(MatchmakingService.class);
+
+    private final PlayerRepository playerRepository;
+
+    private final ChallengeRepository challengeRepository;
+
+    private final CurrentPlayerContext currentPlayerContext;
+
+    private final InMemoryIndex index = new InMemoryIndex(log, "matchmaking index", this::load);
+
+    private final EnumMap<Level, EnumMap<Gender, LongHashSet>> activePlayerIds = new EnumMap<>(Level.class);
+
+    private final LongObjectHashMap<Profile> profiles = new LongObjectHashMap<>();
+
+    /** Number of challenges between two players, by player then opponent. */
+    private final LongObjectHashMap<LongIntHashMap> challengeCounts = new LongObjectHashMap<>();
+
+    /** The two players counted for each challenge, to take them back when the challenge changes. */
+    private final LongObjectHashMap<long[]> challengePlayers = new LongObjectHashMap<>();
+
+    public MatchmakingService(
+        PlayerRepository playerRepository,
+        ChallengeRepository challengeRepository,
+        CurrentPlayerContext currentPlayerContext
+    ) {
+        this.playerRepository = playerRepository;
+        this.challengeRepository = challengeRepository;
+        this.currentPlayerContext = currentPlayerContext;
+        for (Level level : Level.values()) {
+            EnumMap<Gender, LongHashSet> byGender = new EnumMap<>(Gender.class);
+            for (Gender gender : Gender.values()) {
+                byGender.put(gender, new LongHashSet());
+            }
+            activePlayerIds.put(level, byGender);
+        }
+    }
+
+    /**
+     * Load the matchmaking index once the application is started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        index.loadOnStartup();
+    }
+
+    /**
+     * Suggest opponents to the current player among the active players of a gender.
+     * <p>
+     * Players of the same level come first, then those one level away, and so on. Within a level distance, players
+     * the caller had fewer challenges with come first, so new opponents are suggested before known ones.
+     *
+     * @param gender the gender of the opponents, or {@code null} for the gender of the current player.
+     * @param size the maximum number of suggestions.
+     * @return the suggestions, best first; empty if the current user has no player, or no level or gender.
+     */
+    public List<OpponentDTO> findOpponents(Gender gender, int size) {
+        Long playerId = currentPlayerContext.getPlayerId().orElse(null);
+        if (playerId == null) {
+            return List.of();
+        }
+        return index.read(() -> {
+            Profile caller = profiles.get(playerId);
+            if (caller == null) {
+                return List.of();
+            }
+            Gender opponentGender = gender != null ? gender : caller.gender;
+            LongIntHashMap counts = challengeCounts.get(playerId);
+            List<OpponentDTO> opponents = new ArrayList<>(size);
+            Level[] levels = Level.values();
+            for (int distance = 0; distance < levels.length && opponents.size() < size; distance++) {
+                List<OpponentDTO> candidates = new ArrayList<>();
+                for (Level level : levels) {
+                    if (Math.abs(level.ordinal() - caller.level.ordinal()) != distance) {
+                        continue;
+                    }
+                    for (LongCursor cursor : activePlayerIds.get(level).get(opponentGender)) {
+                        if (cursor.value != playerId) {
+                            Profile profile = profiles.get(cursor.value);
+                            int challengeCount = counts != null ? counts.get(cursor.value) : 0;
+                            candidates.add(profile.toOpponent(challengeCount));
+                        }
+                    }
+                }
+                candidates.sort(RANKING);
+                opponents.addAll(candidates.subList(0, Math.min(candidates.size(), size - opponents.size())));
+            }
+            return opponents;
+        });
+    }
+
+    /**
+     * Index a player which was just saved, once the transaction commits.
+     *
+     * @param player the saved player.
+     */
+    public void updatePlayer(Player player) {
+        Profile profile = Profile.of(
+            player.getId(),
+            player.getFullName(),
+            player.getLevel(),
+            player.getGender(),
+            player.getPhotoId(),
+            player.getStatus()
+        );
+        index.afterCommit(() -> {
+            removeProfile(player.getId());
+            addProfile(player.getId(), profile);
+        });
+    }
+
+    /**
+     * Remove a player which is being deleted, once the transaction commits.
+     *
+     * @param playerId the id of the player.
+     */
+    public void removePlayer(Long playerId) {
+        index.afterCommit(() -> removeProfile(playerId));
+    }
+
+    /**
+     * Count a challenge which was just saved between its two players, once the transaction commits.
+     *
+     * @param challenge the saved challenge.
+     */
+    public void updateChallenge(Challenge challenge) {
+        Long proposerId = challenge.getProposer() != null ? challenge.getProposer().getId() : null;
+        Long acceptorId = challenge.getAcceptor() != null ? challenge.getAcceptor().getId() : null;
+        index.afterCommit(() -> {
+            uncount(challenge.getId());
+            count(challenge.getId(), proposerId, acceptorId);
+        });
+    }
+
+    /**
+     * Stop counting a challenge which is being deleted, once the transaction commits.
+     *
+     * @param challengeId the id of the challenge.
+     */
+    public void removeChallenge(Long challengeId) {
+        index.afterCommit(() -> uncount(challengeId));
+    }
+
+    private void load() {
+        activePlayerIds.values().forEach(byGender -> byGender.values().forEach(LongHashSet::clear));
+        profiles.clear();
+        challengeCounts.clear();
+        challengePlayers.clear();
+        playerRepository
+            .findAllProfiles()
+            .forEach(row ->
+                addProfile(
+                    row.getId(),
+                    Profile.of(row.getId(), row.getFullName(), row.getLevel(), row.getGender(), row.getPhotoId(), row.getStatus())
+                )
+            );
+        challengeRepository.findAllPlayers().forEach(row -> count(row.getId(), row.getProposerId(), row.getAcceptorId()));
+        log.info("Loaded matchmaking index of {} players and {} challenges", profiles.size(), challengePlayers.size());
+    }
+
+    private void addProfile(long playerId, Profile profile) {
+        if (profile == null) {
+            return;
+        }
+        profiles.put(playerId, profile);
+        if (profile.active) {
+            activePlayerIds.get(profile.level).get(profile.gender).add(playerId);
+        }
+    }
+
+    private void removeProfile(long playerId) {
+        Profile profile = profiles.remove(playerId);
+        if (profile != null) {
+            activePlayerIds.get(profile.level).get(profile.gender).remove(playerId);
+        }
+    }
+
+    private void count(long challengeId, Long proposerId, Long acceptorId) {
+        if (proposerId == null || acceptorId == null || proposerId.equals(acceptorId)) {
+            return;
+        }
+        challengePlayers.put(challengeId, new long[] { proposerId, acceptorId });
+        addCount(proposerId, acceptorId, 1);
+        addCount(acceptorId, proposerId, 1);
+    }
+
+    private void uncount(long challengeId) {
+        long[] players = challengePlayers.remove(challengeId);
+        if (players != null) {
+            addCount(players[0], players[1], -1);
+            addCount(players[1], players[0], -1);
+        }
+    }
+
+    private void addCount(long playerId, long opponentId, int delta) {
+        LongIntHashMap counts = challengeCounts.get(playerId);
+        if (counts == null) {
+            counts = new LongIntHashMap();
+            challengeCounts.put(playerId, counts);
+        }
+        if (counts.addTo(opponentId, delta) == 0) {
+            counts.remove(opponentId);
+            if (counts.isEmpty()) {
+                challengeCounts.remove(playerId);
+            }
+        }
+    }
+
+    /**
+     * What the index needs to know about a player to match and show them.
+     */
+    private static final class Profile {
+
+        private final long id;
+
+        private final String fullName;
+
+        private final Level level;
+
+        private final Gender gender;
+
+        private final String photoId;
+
+        private final boolean active;
+
+        private Profile(long id, String fullName, Level level, Gender gender, String photoId, boolean active) {
+            this.id = id;
+            this.fullName = fullName;
+            this.level = level;
+            this.gender = gender;
+            this.photoId = photoId;
+            this.active = active;
+        }
+
+        /**
+         * @return the profile, or {@code null} for a player without a level or gender, who cannot be matched.
+         */
+        static Profile of(Long id, String fullName, Level level, Gender gender, String photoId, GeneralStatus status) {
+            if (level == null || gender == null) {
+                return null;
+            }
+            return new Profile(id, fullName, level, gender, photoId, status == GeneralStatus.ACTIVE);
+        }
+
+        OpponentDTO toOpponent(int challengeCount) {
+            return new OpponentDTO(id, fullName, level, gender, photoId, challengeCount);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.tennisly.club.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * The content of stored media, read from the database one chunk at a time as it is consumed, so that serving
+ * a large image holds neither the whole image in memory nor a connection while the client reads it.
+ * <p>
+ * Media content never changes once stored, as its id is its digest, so the chunks always belong together.
+ */
+final class MediaContentStream extends InputStream {
+
+    static final int CHUNK_SIZE = 256 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String id;
+
+    private final long length;
+
+    /** Position in the content of the first byte of {@link #chunk}. */
+    private long chunkPosition;
+
+    private byte[] chunk = new byte[0];
+
+    private int chunkOffset;
+
+    MediaContentStream(JdbcTemplate jdbcTemplate, String id, long length) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.id = id;
+        this.length = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return chunk[chunkOffset++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int count) throws IOException {
+        if (count == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int read = Math.min(count, chunk.length - chunkOffset);
+        System.arraycopy(chunk, chunkOffset, bytes, offset, read);
+        chunkOffset += read;
+        return read;
+    }
+
+    /**
+     * Skip without reading, so a {@code Range} request only reads the chunks it returns.
+     */
+    @Override
+    public long skip(long count) {
+        long skipped = Math.max(0, Math.min(count, length - position()));
+        chunkPosition = position() + skipped;
+        chunk = new byte[0];
+        chunkOffset = 0;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return chunk.length - chunkOffset;
+    }
+
+    private long position() {
+        return chunkPosition + chunkOffset;
+    }
+
+    /**
+     * @return false at the end of the content, true if the current chunk has bytes left to read.
+     */
+    private boolean fill() throws IOException {
+        if (chunkOffset < chunk.length) {
+            return true;
+        }
+        long position = position();
+        if (position >= length) {
+            return false;
+        }
+        int size = (int) Math.min(CHUNK_SIZE, length - position);
+        byte[] next;
+        try {
+            next =
+                jdbcTemplate.queryForObject(
+                    "select substring(content, ?, ?) from media where id = ?",
+                    byte[].class,
+                    position + 1,
+                    size,
+                    id
+                );
+        } catch (EmptyResultDataAccessException e) {
+            throw new IOException("Media " + id + " was deleted while it was read", e);
+        } catch (DataAccessException e) {
+            throw new IOException("Could not read Media " + id, e);
+        }
+        if (next == null || next.length == 0) {
+            throw new IOException("Media " + id + " is shorter than its length of " + length + " bytes");
+        }
+        chunkPosition = position;
+        chunk = next;
+        chunkOffset = 0;
+        return true;
+    }
+}
@@ -0,0 +1,271 @@
+package com.tennisly.club.service;
+
+import com.tennisly.club.config.ApplicationProperties;
+import com.tennisly.club.domain.Cord;
+import com.tennisly.club.domain.Media;
+import com.tennisly.club.domain.MediaThumbnail;
+import com.tennisly.club.repository.MediaRepository;
+import com.tennisly.club.repository.MediaThumbnailRepository;
+import java.awt.Dimension;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for storing and reading {@link Media}.
+ * <p>
+ * Entities only keep the id of their media, so the bytes are read from this store
+ * when an image is actually shown and never travel with list payloads.
+ * <p>
+ * Images get one {@link MediaThumbnail} per entry of {@link #THUMBNAIL_SIZES} when they are stored,
+ * so list views can load a few kilobytes instead of the full upload.
+ */
+@Service
+@Transactional
+public class MediaService {
+
+    /**
+     * Longest side, in pixels, of the thumbnails created for each stored image.
+     */
+    public static final List<Integer> THUMBNAIL_SIZES = List.of(64, 256);
+
+    /**
+     * Content types of the images which can be stored.
+     */
+    public static final Set<String> IMAGE_CONTENT_TYPES = Set.of("image/png", "image/jpeg", "image/gif", "image/webp");
+
+    private final Logger log = LoggerFactory.getLogger(MediaService.class);
+
+    private final MediaRepository mediaRepository;
+
+    private final MediaThumbnailRepository mediaThumbnailRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties.Media properties;
+
+    public MediaService(
+        MediaRepository mediaRepository,
+        MediaThumbnailRepository mediaThumbnailRepository,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        EntityManagerFactory entityManagerFactory,
+        ApplicationProperties applicationProperties
+    ) {
+        this.mediaRepository = mediaRepository;
+        this.mediaThumbnailRepository = mediaThumbnailRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = applicationProperties.getMedia();
+    }
+
+    /**
+     * Store the given image, or return the already stored media with the same content.
+     * <p>
+     * Media is served to anyone from the application's origin, so only images are stored, with the content type read
+     * from their first bytes: the content type sent by the client is not trusted.
+     *
+     * @param content the bytes to store.
+     * @param contentType the content type sent with the bytes, which is ignored.
+     * @return the stored media.
+     * @throws InvalidMediaException if the content is not a PNG, JPEG, GIF or WebP image, or has more pixels than
+     * {@code application.media.max-image-pixels}.
+     */
+    public Media store(byte[] content, String contentType) {
+        String imageContentType = imageContentType(content).orElseThrow(InvalidMediaException::new);
+        Optional<Dimension> size = ThumbnailGenerator.readSize(content);
+        if (size.isPresent() && (long) size.get().width * size.get().height > properties.getMaxImagePixels()) {
+            throw new InvalidMediaException(
+                "Images of more than " + properties.getMaxImagePixels() / 1_000_000 + " megapixels cannot be uploaded!",
+                "imagetoolarge"
+            );
+        }
+        String id = digest(content);
+        Optional<Media> stored = mediaRepository.findById(id);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+        Media media = new Media().id(id).contentType(imageContentType).content(content);
+        log.debug("Storing Media : {} sent as {}", media, contentType);
+        try {
+            // inserted with JDBC, as a failed insert through the entity manager would roll the whole transaction back
+            jdbcTemplate.update(
+                "insert into media (id, content_type, content_length, content, created_date) values (?, ?, ?, ?, ?)",
+                media.getId(),
+                media.getContentType(),
+                media.getContentLength(),
+                media.getContent(),
+                Timestamp.from(media.getCreatedDate())
+            );
+        } catch (DataIntegrityViolationException e) {
+            // the same content was stored at the same time by another upload, which also creates the thumbnails
+            log.debug("Media {} was stored concurrently", id);
+            return media;
+        }
+        mediaThumbnailRepository.saveAll(ThumbnailGenerator.generate(media, THUMBNAIL_SIZES));
+        return media;
+    }
+
+    /**
+     * Get the content type and length of the "id" media, without its content.
+     *
+     * @param id the id of the media.
+     * @return the media, or empty if there is none with this id.
+     */
+    @Transactional(readOnly = true)
+    public Optional<MediaRepository.MediaInfo> findInfo(String id) {
+        log.debug("Request to get Media : {}", id);
+        return mediaRepository.findInfoById(id);
+    }
+
+    /**
+     * Open the content of stored media. It is read from the database in chunks as the stream is consumed,
+     * each with its own short query.
+     *
+     * @param media the media, as found by {@link #findInfo(String)}.
+     * @return the content, which must be closed.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InputStream openContent(MediaRepository.MediaInfo media) {
+        return new MediaContentStream(jdbcTemplate, media.getId(), media.getContentLength());
+    }
+
+    /**
+     * Get the thumbnail of the "id" media for the given size.
+     *
+     * @param id the id of the media.
+     * @param size one of {@link #THUMBNAIL_SIZES}.
+     * @return the thumbnail, or empty if the media is not an image or is not larger than the size.
+     */
+    @Transactional(readOnly = true)
+    public Optional<MediaThumbnail> findThumbnail(String id, int size) {
+        log.debug("Request to get {}px thumbnail of Media : {}", size, id);
+        return mediaThumbnailRepository.findOneByMediaIdAndSize(id, size);
+    }
+
+    /**
+     * Media which is no longer referenced by any player or court is deleted.
+     * <p>
+     * This is scheduled to get fired everyday, at 01:30 (am). Media created in the last hour is kept.
+     */
+    @Scheduled(cron = "0 30 1 * * ?")
+    public void removeUnreferencedMedia() {
+        Instant createdBefore = Instant.now().minus(1, ChronoUnit.HOURS);
+        mediaThumbnailRepository.deleteOfUnreferencedMediaCreatedBefore(createdBefore);
+        int removed = mediaRepository.deleteUnreferencedCreatedBefore(createdBefore);
+        log.debug("Deleted {} unreferenced media", removed);
+    }
+
+    /**
+     * Move images which are still stored inline in the player and court rows into the media store.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void migrateInlineImages() {
+        migrateInlineColumn("player", "photo");
+        if (migrateInlineColumn("cord", "image") > 0) {
+            // the rows were updated with JDBC, so cached courts still have no image id
+            entityManagerFactory.getCache().evict(Cord.class);
+        }
+    }
+
+    private int migrateInlineColumn(String table, String column) {
+        List<Long> ids;
+        try {
+            ids = jdbcTemplate.queryForList("select id from " + table + " where " + column + " is not null", Long.class);
+        } catch (DataAccessException e) {
+            log.trace("No inline {}.{} column to migrate", table, column, e);
+            return 0;
+        }
+        int moved = 0;
+        for (Long id : ids) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Media media = jdbcTemplate.queryForObject(
+                        "select " + column + ", " + column + "_content_type from " + table + " where id = ?",
+                        (rs, rowNum) -> store(rs.getBytes(1), rs.getString(2)),
+                        id
+                    );
+                    jdbcTemplate.update(
+                        "update " + table + " set " + column + "_id = ?, " + column + " = null where id = ?",
+                        media.getId(),
+                        id
+                    );
+                });
+                moved++;
+            } catch (InvalidMediaException e) {
+                log.warn("Left inline {}.{} of id {} in place, as it is not an image", table, column, id);
+            }
+        }
+        if (moved > 0) {
+            log.info("Moved {} inline {}.{} values into the media store", moved, table, column);
+        }
+        return moved;
+    }
+
+    /**
+     * @return the content type of an image of one of {@link #IMAGE_CONTENT_TYPES}, from its magic bytes, or empty.
+     */
+    static Optional<String> imageContentType(byte[] content) {
+        if (startsWith(content, 0, 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n')) {
+            return Optional.of("image/png");
+        }
+        if (startsWith(content, 0, 0xFF, 0xD8, 0xFF)) {
+            return Optional.of("image/jpeg");
+        }
+        if (startsWith(content, 0, 'G', 'I', 'F', '8', '7', 'a') || startsWith(content, 0, 'G', 'I', 'F', '8', '9', 'a')) {
+            return Optional.of("image/gif");
+        }
+        if (startsWith(content, 0, 'R', 'I', 'F', 'F') && startsWith(content, 8, 'W', 'E', 'B', 'P')) {
+            return Optional.of("image/webp");
+        }
+        return Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] content, int offset, int... magic) {
+        if (content == null || content.length < offset + magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((content[offset + i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return String.format("%064x", new BigInteger(1, hash));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.tennisly.club.service;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import com.carrotsearch.hppc.cursors.ObjectCursor;
+import com.tennisly.club.domain.Cord;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import com.tennisly.club.repository.CordRepository;
+import com.tennisly.club.service.dto.NearbyCordDTO;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds the active cords nearest to a location from an in-memory grid index.
+ * <p>
+ * The cords with a location are put in the cells of a uniform grid of {@value #CELL_DEGREES} degrees. A search
+ * looks at the cell of the location, then at the rings of cells around it, and stops as soon as the next ring is
+ * farther than the radius or than the last of the nearest cords already found, so its cost depends on the cords
+ * around the location and not on their total number. Cords are changed by {@link CordService}.
+ */
+@Service
+public class NearbyCordService {
+
+    /** The side of a grid cell, in degrees of latitude and of longitude: about 5.5 km by 4.2 km in Istanbul. */
+    static final double CELL_DEGREES = 0.05;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+
+    private static final double CELL_KM = CELL_DEGREES * KM_PER_DEGREE;
+
+    private static final int LATITUDE_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+
+    private static final int LONGITUDE_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    private static final Comparator<Candidate> NEAREST = Comparator
+        .comparingDouble((Candidate candidate) -> candidate.distance)
+        .thenComparingLong(candidate -> candidate.cord.id);
+
+    private final Logger log = LoggerFactory.getLogger(NearbyCordService.class);
+
+    private final CordRepository cordRepository;
+
+    private final InMemoryIndex index = new InMemoryIndex(log, "cord location index", this::load);
+
+    private final LongObjectHashMap<Located> cords = new LongObjectHashMap<>();
+
+    /** The ids of the cords in each non-empty cell, by {@link #cell(int, int)}. */
+    private final LongObjectHashMap<LongHashSet> cells = new LongObjectHashMap<>();
+
+    public NearbyCordService(CordRepository cordRepository) {
+        this.cordRepository = cordRepository;
+    }
+
+    /**
+     * Load the cord location index once the application is started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        index.loadOnStartup();
+    }
+
+    /**
+     * Find the active cords nearest to a location.
+     *
+     * @param latitude the latitude of the location, in degrees.
+     * @param longitude the longitude of the location, in degrees.
+     * @param radius the maximum distance of the cords, in kilometres.
+     * @param size the maximum number of cords.
+     * @return the cords, nearest first.
+     */
+    public List<NearbyCordDTO> findNearby(double latitude, double longitude, double radius, int size) {
+        return index.read(() -> {
+            PriorityQueue<Candidate> nearest = new PriorityQueue<>(size + 1, NEAREST.reversed());
+            int latitudeCell = latitudeCell(latitude);
+            int longitudeCell = longitudeCell(longitude);
+            double farthestLatitude = Math.min(90, Math.abs(latitude) + radius / KM_PER_DEGREE);
+            // the narrowest cell within the radius, the one nearest to a pole
+            double cellKm = CELL_KM * Math.cos(Math.toRadians(farthestLatitude));
+            int scannedCells = 0;
+            for (int ring = 0; ; ring++) {
+                // every cell of this ring is at least ring - 1 cells away from the location
+                double ringDistance = Math.max(0, ring - 1) * cellKm;
+                if (ringDistance > radius || (nearest.size() == size && ringDistance > nearest.peek().distance)) {
+                    break;
+                }
+                int ringCells = ring == 0 ? 1 : 8 * ring;
+                if (scannedCells + ringCells > cells.size()) {
+                    // the rings now hold more cells than there are cords in cells: look at every cord instead
+                    nearest.clear();
+                    for (ObjectCursor<Located> cord : cords.values()) {
+                        offer(nearest, cord.value, latitude, longitude, radius, size);
+                    }
+                    break;
+                }
+                for (int dy = -ring; dy <= ring; dy++) {
+                    int step = Math.abs(dy) == ring ? 1 : 2 * ring;
+                    for (int dx = -ring; dx <= ring; dx += step) {
+                        scanCell(nearest, latitudeCell + dy, longitudeCell + dx, latitude, longitude, radius, size);
+                    }
+                }
+                scannedCells += ringCells;
+            }
+            List<Candidate> sorted = new ArrayList<>(nearest);
+            sorted.sort(NEAREST);
+            List<NearbyCordDTO> result = new ArrayList<>(sorted.size());
+            sorted.forEach(candidate -> result.add(candidate.cord.toNearby(candidate.distance)));
+            return result;
+        });
+    }
+
+    /**
+     * Index a cord which was just saved, once the transaction commits.
+     *
+     * @param cord the saved cord.
+     */
+    public void updateCord(Cord cord) {
+        Located located = Located.of(
+            cord.getId(),
+            cord.getName(),
+            cord.getAdress(),
+            cord.getImageId(),
+            cord.getLatitude(),
+            cord.getLongitude(),
+            cord.getStatus()
+        );
+        index.afterCommit(() -> {
+            remove(cord.getId());
+            add(located);
+        });
+    }
+
+    /**
+     * Remove a cord which is being deleted, once the transaction commits.
+     *
+     * @param cordId the id of the cord.
+     */
+    public void removeCord(Long cordId) {
+        index.afterCommit(() -> remove(cordId));
+    }
+
+    /**
+     * @return the great-circle distance between two locations, in kilometres.
+     */
+    static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double sinLatitude = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double sinLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double cosLatitudes = Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2));
+        double a = sinLatitude * sinLatitude + cosLatitudes * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void load() {
+        cords.clear();
+        cells.clear();
+        cordRepository
+            .findAllLocations(GeneralStatus.ACTIVE)
+            .forEach(row ->
+                add(
+                    Located.of(
+                        row.getId(),
+                        row.getName(),
+                        row.getAdress(),
+                        row.getImageId(),
+                        row.getLatitude(),
+                        row.getLongitude(),
+                        GeneralStatus.ACTIVE
+                    )
+                )
+            );
+        log.info("Loaded cord location index of {} cords in {} cells", cords.size(), cells.size());
+    }
+
+    private void scanCell(
+        PriorityQueue<Candidate> nearest,
+        int latitudeCell,
+        int longitudeCell,
+        double latitude,
+        double longitude,
+        double radius,
+        int size
+    ) {
+        if (latitudeCell < 0 || latitudeCell >= LATITUDE_CELLS) {
+            return;
+        }
+        LongHashSet ids = cells.get(cell(latitudeCell, Math.floorMod(longitudeCell, LONGITUDE_CELLS)));
+        if (ids != null) {
+            for (LongCursor id : ids) {
+                offer(nearest, cords.get(id.value), latitude, longitude, radius, size);
+            }
+        }
+    }
+
+    private static void offer(PriorityQueue<Candidate> nearest, Located cord, double latitude, double longitude, double radius, int size) {
+        double distance = distance(latitude, longitude, cord.latitude, cord.longitude);
+        if (distance <= radius) {
+            nearest.add(new Candidate(cord, distance));
+            if (nearest.size() > size) {
+                nearest.poll();
+            }
+        }
+    }
+
+    private void add(Located located) {
+        if (located == null) {
+            return;
+        }
+        cords.put(located.id, located);
+        LongHashSet ids = cells.get(located.cell);
+        if (ids == null) {
+            ids = new LongHashSet();
+            cells.put(located.cell, ids);
+        }
+        ids.add(located.id);
+    }
+
+    private void remove(long cordId) {
+        Located located = cords.remove(cordId);
+        if (located != null) {
+            LongHashSet ids = cells.get(located.cell);
+            if (ids != null && ids.remove(cordId) && ids.isEmpty()) {
+                cells.remove(located.cell);
+            }
+        }
+    }
+
+    private static int latitudeCell(double latitude) {
+        return Math.min(LATITUDE_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int longitudeCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LONGITUDE_CELLS);
+    }
+
+    private static long cell(int latitudeCell, int longitudeCell) {
+        return (long) latitudeCell * LONGITUDE_CELLS + longitudeCell;
+    }
+
+    /**
+     * What the index keeps of a cord to find and show it.
+     */
+    private static final class Located {
+
+        private final long id;
+
+        private final String name;
+
+        private final String adress;
+
+        private final String imageId;
+
+        private final double latitude;
+
+        private final double longitude;
+
+        private final long cell;
+
+        private Located(long id, String name, String adress, String imageId, double latitude, double longitude) {
+            this.id = id;
+            this.name = name;
+            this.adress = adress;
+            this.imageId = imageId;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell(latitudeCell(latitude), longitudeCell(longitude));
+        }
+
+        /**
+         * @return the located cord, or {@code null} if it is not active or has no location, and cannot be found.
+         */
+        static Located of(
+            Long id,
+            String name,
+            String adress,
+            String imageId,
+            Double latitude,
+            Double longitude,
+            GeneralStatus status
+        ) {
+            if (status != GeneralStatus.ACTIVE || latitude == null || longitude == null) {
+                return null;
+            }
+            return new Located(id, name, adress, imageId, latitude, longitude);
+        }
+
+        NearbyCordDTO toNearby(double distance) {
+            return new NearbyCordDTO(id, name, adress, imageId, latitude, longitude, Math.round(distance * 1000) / 1000.0);
+        }
+    }
+
+    /**
+     * A cord within the radius, with its distance from the location.
+     */
+    private static final class Candidate {
+
+        private final Located cord;
+
+        private final double distance;
+
+        Candidate(Located cord, double distance) {
+            this.cord = cord;
+            this.distance = distance;
+        }
+    }
+}
@@ -3,23 +3,21 @@ package com.tennisly.club.service;
 import com.tennisly.club.domain.*; // for static metamodels
 import com.tennisly.club.domain.Player;
 import com.tennisly.club.repository.PlayerRepository;
-import com.tennisly.club.repository.UserRepository;
-import com.tennisly.club.security.SecurityUtils;
 import com.tennisly.club.service.criteria.PlayerCriteria;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.persistence.criteria.JoinType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.LongFilter;
 
 /**
  * Service for executing complex queries for {@link Player} entities in the database.
@@ -35,8 +33,11 @@ public class PlayerQueryService extends QueryService<Player> {
 
     private final PlayerRepository playerRepository;
 
-    public PlayerQueryService(PlayerRepository playerRepository) {
+    private final CurrentPlayerContext currentPlayerContext;
+
+    public PlayerQueryService(PlayerRepository playerRepository, CurrentPlayerContext currentPlayerContext) {
         this.playerRepository = playerRepository;
+        this.currentPlayerContext = currentPlayerContext;
     }
 
     /**
@@ -52,28 +53,38 @@ public class PlayerQueryService extends QueryService<Player> {
     }
 
     /**
-     * Return a {@link Page} of {@link Player} which matches the criteria from the database.
+     * Return a {@link Page} of {@link Player} which matches the criteria from the database,
+     * excluding the current user's own player and players without an internal user.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
-
-    @Autowired
-    UserRepository userRepository;
-
     @Transactional(readOnly = true)
     public Page<Player> findByCriteria(PlayerCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
-        final Specification<Player> specification = createSpecification(criteria);
-        Optional<String> login = SecurityUtils.getCurrentUserLogin();
-        User user = userRepository.findOneByLogin(login.orElseThrow()).orElseThrow();
-        List<Player> players = playerRepository
-            .findAll(specification, page)
-            .stream()
-            .filter(player -> player.getInternalUser() != null && player.getInternalUser().getId() != user.getId())
-            .collect(Collectors.toList());
+        Long userId = currentPlayerContext.getUserId().orElseThrow();
+        final Specification<Player> specification = createSpecification(criteria).and(belongsToOtherUser(userId));
+        return playerRepository.findAll(specification, page);
+    }
 
-        return new PageImpl<>(players);
+    /**
+     * Return a {@link Slice} of {@link Player} which matches the criteria from the database, ordered by id
+     * and starting after the given id, excluding the current user's own player and players without an internal user.
+     * No count query is run.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param afterId the id of the last player already returned, or {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Player> findByCriteria(PlayerCriteria criteria, Long afterId, int size) {
+        log.debug("find by criteria : {}, after: {}, size: {}", criteria, afterId, size);
+        Long userId = currentPlayerContext.getUserId().orElseThrow();
+        Specification<Player> specification = createSpecification(criteria).and(belongsToOtherUser(userId));
+        if (afterId != null) {
+            specification = specification.and(buildRangeSpecification(new LongFilter().setGreaterThan(afterId), Player_.id));
+        }
+        return playerRepository.findSlice(specification, PageRequest.of(0, size, Sort.by(Player_.ID)));
     }
 
     /**
@@ -130,4 +141,14 @@ public class PlayerQueryService extends QueryService<Player> {
         }
         return specification;
     }
+
+    /**
+     * Function to restrict {@link Player} entities to the ones linked to a user other than the given one.
+     * The comparison also drops players which have no internal user.
+     * @param userId the id of the user whose player should be excluded.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Player> belongsToOtherUser(Long userId) {
+        return (root, query, builder) -> builder.notEqual(root.get(Player_.internalUser).get(User_.id), userId);
+    }
 }
@@ -26,7 +26,7 @@ public interface PlayerService {
     Optional<Player> partialUpdate(Player player);
 
     /**
-     * Get all the players.
+     * Get all the players linked to a user other than the current one.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
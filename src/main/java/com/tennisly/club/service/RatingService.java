@@ -0,0 +1,279 @@
+package com.tennisly.club.service;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.cursors.LongIntCursor;
+import com.tennisly.club.config.ApplicationProperties;
+import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.MatchResult;
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.enumeration.ChallengeStatus;
+import com.tennisly.club.repository.ChallengeRepository;
+import com.tennisly.club.repository.MatchResultRepository;
+import com.tennisly.club.repository.PlayerRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for recording {@link MatchResult}s and the Elo ratings of {@link Player}s they change.
+ * <p>
+ * A result moves both ratings by the same amount in opposite directions, computed from the ratings at the time it is
+ * submitted. The change is stored with the result and added to the players in the same transaction, so a result
+ * costs a constant number of statements. {@link #recomputeAll()} replays every result, for when the formula changes.
+ */
+@Service
+@Transactional
+public class RatingService {
+
+    private final Logger log = LoggerFactory.getLogger(RatingService.class);
+
+    private final MatchResultRepository matchResultRepository;
+
+    private final ChallengeRepository challengeRepository;
+
+    private final PlayerRepository playerRepository;
+
+    private final LeaderboardService leaderboardService;
+
+    private final CurrentPlayerContext currentPlayerContext;
+
+    private final ApplicationProperties.Rating properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public RatingService(
+        MatchResultRepository matchResultRepository,
+        ChallengeRepository challengeRepository,
+        PlayerRepository playerRepository,
+        LeaderboardService leaderboardService,
+        CurrentPlayerContext currentPlayerContext,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.matchResultRepository = matchResultRepository;
+        this.challengeRepository = challengeRepository;
+        this.playerRepository = playerRepository;
+        this.leaderboardService = leaderboardService;
+        this.currentPlayerContext = currentPlayerContext;
+        this.properties = applicationProperties.getRating();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Record the result of an accepted challenge which was played, as one of its players, and update the ratings of
+     * its players.
+     * <p>
+     * Ratings are changed with relative updates, so concurrent results of the same player all count,
+     * even if one was computed from a rating the other was changing.
+     *
+     * @param challengeId the id of the challenge.
+     * @param matchResult the result, with its winner and score.
+     * @return the persisted result, or empty if there is no such challenge.
+     * @throws AccessDeniedException if the current player is not a player of the challenge.
+     * @throws InvalidMatchResultException if the challenge cannot have this result.
+     */
+    public Optional<MatchResult> submit(Long challengeId, MatchResult matchResult) {
+        log.debug("Request to submit MatchResult of Challenge {} : {}", challengeId, matchResult);
+        Optional<Challenge> challenge = challengeRepository.findById(challengeId);
+        if (challenge.isEmpty()) {
+            return Optional.empty();
+        }
+        Player proposer = challenge.get().getProposer();
+        Player acceptor = challenge.get().getAcceptor();
+        if (challenge.get().getChallengeStatus() != ChallengeStatus.ACCEPTED) {
+            throw new InvalidMatchResultException("Only an accepted challenge can have a result", "notaccepted");
+        }
+        if (proposer == null || acceptor == null || proposer.equals(acceptor)) {
+            throw new InvalidMatchResultException("The challenge needs two players", "noopponent");
+        }
+        Long playerId = currentPlayerContext.getPlayerId().orElse(null);
+        if (!proposer.getId().equals(playerId) && !acceptor.getId().equals(playerId)) {
+            throw new AccessDeniedException("Player " + playerId + " may not submit the result of Challenge " + challengeId);
+        }
+        if (challenge.get().getMatchTime() == null || challenge.get().getMatchTime().isAfter(Instant.now())) {
+            throw new InvalidMatchResultException("The match has not been played yet", "notplayed");
+        }
+        Long winnerId = matchResult.getWinner() != null ? matchResult.getWinner().getId() : null;
+        if (!proposer.getId().equals(winnerId) && !acceptor.getId().equals(winnerId)) {
+            throw new InvalidMatchResultException("The winner must be a player of the challenge", "invalidwinner");
+        }
+        if (matchResultRepository.existsByChallenge_Id(challengeId)) {
+            throw new InvalidMatchResultException("The challenge already has a result", "resultexists");
+        }
+
+        boolean proposerWon = proposer.getId().equals(winnerId);
+        int change = ratingChange(rating(proposer.getRating()), rating(acceptor.getRating()), proposerWon);
+        matchResult
+            .challenge(challenge.get())
+            .winner(proposerWon ? proposer : acceptor)
+            .proposerRatingChange(change)
+            .acceptorRatingChange(-change)
+            .createdDate(Instant.now());
+        MatchResult result;
+        try {
+            result = matchResultRepository.saveAndFlush(matchResult);
+        } catch (DataIntegrityViolationException e) {
+            throw new InvalidMatchResultException("The challenge already has a result", "resultexists");
+        }
+        playerRepository.addRating(proposer.getId(), change);
+        playerRepository.addRating(acceptor.getId(), -change);
+        leaderboardService.refreshRating(proposer.getId());
+        leaderboardService.refreshRating(acceptor.getId());
+        return Optional.of(result);
+    }
+
+    /**
+     * Delete the result of a challenge which is being deleted, and take its rating change back from its players.
+     * <p>
+     * Must be called in the transaction which deletes the challenge, before it is deleted.
+     *
+     * @param challengeId the id of the challenge.
+     */
+    public void deleteResult(Long challengeId) {
+        matchResultRepository
+            .findOneByChallenge_Id(challengeId)
+            .ifPresent(result -> {
+                log.debug("Request to delete MatchResult of Challenge : {}", challengeId);
+                Challenge challenge = result.getChallenge();
+                playerRepository.addRating(challenge.getProposer().getId(), -result.getProposerRatingChange());
+                playerRepository.addRating(challenge.getAcceptor().getId(), -result.getAcceptorRatingChange());
+                leaderboardService.refreshRating(challenge.getProposer().getId());
+                leaderboardService.refreshRating(challenge.getAcceptor().getId());
+                matchResultRepository.delete(result);
+            });
+    }
+
+    /**
+     * Get the result of a challenge.
+     *
+     * @param challengeId the id of the challenge.
+     * @return the result, or empty if it has none.
+     */
+    @Transactional(readOnly = true)
+    public Optional<MatchResult> findByChallenge(Long challengeId) {
+        log.debug("Request to get MatchResult of Challenge : {}", challengeId);
+        return matchResultRepository.findOneByChallenge_Id(challengeId);
+    }
+
+    /**
+     * Recompute every rating by replaying all results in the order they were submitted.
+     * <p>
+     * Results are read and their rating changes rewritten in chunks of {@code application.rating.recompute-chunk-size},
+     * each in its own transaction, and only the current rating of each player is kept in memory. The player rows are
+     * only held by a final short transaction, which resets every rating, replays the results submitted meanwhile and
+     * writes the new ratings: results submitted after it apply on top of them. If a result before the last replayed
+     * one was committed or deleted meanwhile, the replay starts over.
+     */
+    @Async
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recomputeAll() {
+        long start = System.currentTimeMillis();
+        int attempts = 0;
+        Replay replay;
+        do {
+            attempts++;
+            replay = replayInChunks();
+        } while (!writeRatings(replay));
+        log.info(
+            "Recomputed the ratings of {} players from {} results in {} ms, {} attempt(s)",
+            replay.ratings.size(),
+            replay.count,
+            System.currentTimeMillis() - start,
+            attempts
+        );
+    }
+
+    private Replay replayInChunks() {
+        Replay replay = new Replay();
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> replayChunk(replay)))) {
+            log.debug("Replayed {} results", replay.count);
+        }
+        return replay;
+    }
+
+    /**
+     * Replay the next chunk of results.
+     *
+     * @return whether the chunk was full, so more results may follow.
+     */
+    private boolean replayChunk(Replay replay) {
+        List<MatchResultRepository.RatedMatch> matches = matchResultRepository.findRatedMatchesAfter(
+            replay.lastId,
+            PageRequest.of(0, properties.getRecomputeChunkSize())
+        );
+        int initialRating = properties.getInitialRating();
+        for (MatchResultRepository.RatedMatch match : matches) {
+            int proposerRating = replay.ratings.getOrDefault(match.getProposerId(), initialRating);
+            int acceptorRating = replay.ratings.getOrDefault(match.getAcceptorId(), initialRating);
+            int change = ratingChange(proposerRating, acceptorRating, match.getProposerId().equals(match.getWinnerId()));
+            replay.ratings.put(match.getProposerId(), proposerRating + change);
+            replay.ratings.put(match.getAcceptorId(), acceptorRating - change);
+            matchResultRepository.updateRatingChanges(match.getId(), change, -change);
+            replay.lastId = match.getId();
+        }
+        replay.count += matches.size();
+        return matches.size() == properties.getRecomputeChunkSize();
+    }
+
+    /**
+     * Reset every rating, which waits for results being submitted and holds the player rows until the commit, replay
+     * the results committed since the last chunk, and write the new ratings.
+     *
+     * @return false, with nothing written, if the results replayed in chunks have changed meanwhile.
+     */
+    private boolean writeRatings(Replay replay) {
+        return Boolean.TRUE.equals(
+            transactionTemplate.execute(status -> {
+                playerRepository.resetRatings(properties.getInitialRating());
+                if (matchResultRepository.countByIdLessThanEqual(replay.lastId) != replay.count) {
+                    log.info("Results were submitted or deleted during the replay, replaying them again");
+                    status.setRollbackOnly();
+                    return false;
+                }
+                while (replayChunk(replay)) {
+                    log.debug("Replayed {} results", replay.count);
+                }
+                for (LongIntCursor rating : replay.ratings) {
+                    playerRepository.updateRating(rating.key, rating.value);
+                }
+                leaderboardService.reload();
+                return true;
+            })
+        );
+    }
+
+    /**
+     * The Elo rating change of a player against an opponent; the opponent's change is its opposite.
+     */
+    private int ratingChange(int rating, int opponentRating, boolean won) {
+        double expectedScore = 1 / (1 + Math.pow(10, (opponentRating - rating) / 400.0));
+        return (int) Math.round(properties.getMaxRatingChange() * ((won ? 1 : 0) - expectedScore));
+    }
+
+    private int rating(Integer rating) {
+        return rating != null ? rating : properties.getInitialRating();
+    }
+
+    /**
+     * The state of a replay: the rating of each player so far, and the last replayed result.
+     */
+    private static final class Replay {
+
+        private final LongIntHashMap ratings = new LongIntHashMap();
+
+        private long lastId;
+
+        private int count;
+    }
+}
@@ -0,0 +1,409 @@
+package com.tennisly.club.service;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import com.carrotsearch.hppc.cursors.LongIntCursor;
+import com.tennisly.club.domain.Cord;
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import com.tennisly.club.repository.CordRepository;
+import com.tennisly.club.repository.PlayerRepository;
+import com.tennisly.club.service.dto.SearchHitDTO;
+import com.tennisly.club.service.dto.SearchResultDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds the active players and cords by name from an in-memory index, instead of {@code LIKE '%term%'} scans.
+ * <p>
+ * Names are folded before they are indexed and searched: lower-cased with the Turkish rules, so that {@code I},
+ * {@code ı}, {@code İ} and {@code i} all match, then stripped of their diacritics, so that {@code ş}, {@code ğ},
+ * {@code ç}, {@code ö} and {@code ü} match their base letters. Each word of a query matches the indexed words it
+ * equals, those it starts, for autocomplete, and those within a small edit distance, for typos, found through the
+ * trigrams they share. Names are changed by {@link PlayerService} and {@link CordService}.
+ */
+@Service
+public class SearchService {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private static final char DOTLESS_I = 'ı';
+
+    private static final String[] NO_WORDS = new String[0];
+
+    private final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private final PlayerRepository playerRepository;
+
+    private final CordRepository cordRepository;
+
+    private final InMemoryIndex index = new InMemoryIndex(log, "search index", this::load);
+
+    private final TextIndex players = new TextIndex();
+
+    private final TextIndex cords = new TextIndex();
+
+    public SearchService(PlayerRepository playerRepository, CordRepository cordRepository) {
+        this.playerRepository = playerRepository;
+        this.cordRepository = cordRepository;
+    }
+
+    /**
+     * Load the search index once the application is started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        index.loadOnStartup();
+    }
+
+    /**
+     * Search the active players and cords by name.
+     * <p>
+     * Every word of the query must match a word of the name. Exact matches rank before prefixes, which rank before
+     * matches with typos; then shorter names come first.
+     *
+     * @param query the words to search, the last one possibly incomplete.
+     * @param size the maximum number of players, and of cords.
+     * @return the players and cords found, best first; none if the query has no word.
+     */
+    public SearchResultDTO search(String query, int size) {
+        String[] terms = words(query);
+        if (terms.length == 0) {
+            return new SearchResultDTO();
+        }
+        return index.read(() -> new SearchResultDTO(players.search(terms, size), cords.search(terms, size)));
+    }
+
+    /**
+     * Index a player which was just saved, once the transaction commits.
+     *
+     * @param player the saved player.
+     */
+    public void updatePlayer(Player player) {
+        Long playerId = player.getId();
+        Named named = Named.of(player.getFullName(), player.getPhotoId(), player.getStatus());
+        index.afterCommit(() -> {
+            players.remove(playerId);
+            players.add(playerId, named);
+        });
+    }
+
+    /**
+     * Remove a player which is being deleted, once the transaction commits.
+     *
+     * @param playerId the id of the player.
+     */
+    public void removePlayer(Long playerId) {
+        index.afterCommit(() -> players.remove(playerId));
+    }
+
+    /**
+     * Index a cord which was just saved, once the transaction commits.
+     *
+     * @param cord the saved cord.
+     */
+    public void updateCord(Cord cord) {
+        Long cordId = cord.getId();
+        Named named = Named.of(cord.getName(), cord.getImageId(), cord.getStatus());
+        index.afterCommit(() -> {
+            cords.remove(cordId);
+            cords.add(cordId, named);
+        });
+    }
+
+    /**
+     * Remove a cord which is being deleted, once the transaction commits.
+     *
+     * @param cordId the id of the cord.
+     */
+    public void removeCord(Long cordId) {
+        index.afterCommit(() -> cords.remove(cordId));
+    }
+
+    /**
+     * Fold a text as described on this class and split it into words.
+     *
+     * @param text the text, possibly {@code null}.
+     * @return the folded words, made of letters and digits only.
+     */
+    static String[] words(String text) {
+        if (text == null) {
+            return NO_WORDS;
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(TURKISH), Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            folded.append(c == DOTLESS_I ? 'i' : Character.isLetterOrDigit(c) ? c : ' ');
+        }
+        String trimmed = folded.toString().trim();
+        return trimmed.isEmpty() ? NO_WORDS : trimmed.split(" +");
+    }
+
+    private void load() {
+        players.clear();
+        cords.clear();
+        playerRepository
+            .findAllProfiles()
+            .forEach(row -> players.add(row.getId(), Named.of(row.getFullName(), row.getPhotoId(), row.getStatus())));
+        cordRepository
+            .findAllNames()
+            .forEach(row -> cords.add(row.getId(), Named.of(row.getName(), row.getImageId(), row.getStatus())));
+        log.info("Loaded search index of {} players and {} cords", players.size(), cords.size());
+    }
+
+    /**
+     * The names of one kind of entity, indexed by word and by the trigrams of their words.
+     */
+    private static final class TextIndex {
+
+        private static final int EXACT = 3;
+
+        private static final int PREFIX = 2;
+
+        private static final int TYPO = 1;
+
+        /** Words shorter than this are only matched exactly or as a prefix. */
+        private static final int MIN_TYPO_LENGTH = 3;
+
+        private static final Comparator<SearchHitDTO> RANKING = Comparator
+            .comparingInt(SearchHitDTO::getScore)
+            .reversed()
+            .thenComparingInt(hit -> hit.getName().length())
+            .thenComparing(SearchHitDTO::getId);
+
+        private final LongObjectHashMap<Named> names = new LongObjectHashMap<>();
+
+        /** The ids named with each word, sorted by word to find the words starting with a prefix. */
+        private final TreeMap<String, LongHashSet> idsByWord = new TreeMap<>();
+
+        /** The words containing each trigram, to find the words close to a misspelled one. */
+        private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+
+        int size() {
+            return names.size();
+        }
+
+        void clear() {
+            names.clear();
+            idsByWord.clear();
+            wordsByTrigram.clear();
+        }
+
+        void add(long id, Named named) {
+            if (named == null) {
+                return;
+            }
+            names.put(id, named);
+            for (String word : named.words) {
+                LongHashSet ids = idsByWord.get(word);
+                if (ids == null) {
+                    ids = new LongHashSet();
+                    idsByWord.put(word, ids);
+                    for (String trigram : trigrams(word)) {
+                        wordsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(word);
+                    }
+                }
+                ids.add(id);
+            }
+        }
+
+        void remove(long id) {
+            Named named = names.remove(id);
+            if (named == null) {
+                return;
+            }
+            for (String word : named.words) {
+                LongHashSet ids = idsByWord.get(word);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    idsByWord.remove(word);
+                    for (String trigram : trigrams(word)) {
+                        Set<String> words = wordsByTrigram.get(trigram);
+                        if (words != null && words.remove(word) && words.isEmpty()) {
+                            wordsByTrigram.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<SearchHitDTO> search(String[] terms, int size) {
+            LongIntHashMap scores = null;
+            for (String term : terms) {
+                LongIntHashMap termScores = match(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    LongIntHashMap both = new LongIntHashMap();
+                    for (LongIntCursor score : scores) {
+                        int termScore = termScores.get(score.key);
+                        if (termScore > 0) {
+                            both.put(score.key, score.value + termScore);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            PriorityQueue<SearchHitDTO> best = new PriorityQueue<>(size + 1, RANKING.reversed());
+            for (LongIntCursor score : scores) {
+                best.add(names.get(score.key).toHit(score.key, score.value));
+                if (best.size() > size) {
+                    best.poll();
+                }
+            }
+            List<SearchHitDTO> hits = new ArrayList<>(best);
+            hits.sort(RANKING);
+            return hits;
+        }
+
+        /**
+         * @return the score of each id with a word matching the term.
+         */
+        private LongIntHashMap match(String term) {
+            LongIntHashMap scores = new LongIntHashMap();
+            for (Map.Entry<String, LongHashSet> word : idsByWord.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+                score(scores, word.getValue(), word.getKey().equals(term) ? EXACT : PREFIX);
+            }
+            if (term.length() < MIN_TYPO_LENGTH) {
+                return scores;
+            }
+            int maxEdits = term.length() < 6 ? 1 : 2;
+            for (String word : similarWords(term, maxEdits)) {
+                if (word.startsWith(term)) {
+                    continue;
+                }
+                boolean close = distance(term, word) <= maxEdits;
+                if (!close && word.length() > term.length()) {
+                    close = distance(term, word.substring(0, term.length())) <= maxEdits;
+                }
+                if (close) {
+                    score(scores, idsByWord.get(word), TYPO);
+                }
+            }
+            return scores;
+        }
+
+        /**
+         * @return the words sharing enough trigrams with the term to be, or to start with, a word within the edit
+         * distance: each edit changes at most three trigrams, and a prefix misses the trigram of the term's end.
+         */
+        private List<String> similarWords(String term, int maxEdits) {
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : trigrams(term)) {
+                Set<String> words = wordsByTrigram.get(trigram);
+                if (words != null) {
+                    words.forEach(word -> shared.merge(word, 1, Integer::sum));
+                }
+            }
+            int minShared = Math.max(1, term.length() - 1 - 3 * maxEdits);
+            List<String> words = new ArrayList<>();
+            shared.forEach((word, count) -> {
+                if (count >= minShared) {
+                    words.add(word);
+                }
+            });
+            return words;
+        }
+
+        private static void score(LongIntHashMap scores, LongHashSet ids, int score) {
+            for (LongCursor id : ids) {
+                if (scores.get(id.value) < score) {
+                    scores.put(id.value, score);
+                }
+            }
+        }
+
+        /**
+         * @return the distinct trigrams of a word padded with one {@code _} on each side, as many as its letters.
+         */
+        private static Set<String> trigrams(String word) {
+            String padded = '_' + word + '_';
+            Set<String> trigrams = new HashSet<>();
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+            return trigrams;
+        }
+
+        /**
+         * @return the number of insertions, deletions, substitutions and transpositions of adjacent letters turning
+         * one word into the other.
+         */
+        private static int distance(String a, String b) {
+            int[][] d = new int[a.length() + 1][b.length() + 1];
+            for (int i = 0; i <= a.length(); i++) {
+                d[i][0] = i;
+            }
+            for (int j = 0; j <= b.length(); j++) {
+                d[0][j] = j;
+            }
+            for (int i = 1; i <= a.length(); i++) {
+                for (int j = 1; j <= b.length(); j++) {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                    if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                        d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                    }
+                }
+            }
+            return d[a.length()][b.length()];
+        }
+    }
+
+    /**
+     * What the index keeps of a player or cord to find and show it.
+     */
+    private static final class Named {
+
+        private final String name;
+
+        private final String imageId;
+
+        private final String[] words;
+
+        private Named(String name, String imageId, String[] words) {
+            this.name = name;
+            this.imageId = imageId;
+            this.words = words;
+        }
+
+        /**
+         * @return the indexed name, or {@code null} if it is not active or has no word, and cannot be found.
+         */
+        static Named of(String name, String imageId, GeneralStatus status) {
+            String[] words = Arrays.stream(words(name)).distinct().toArray(String[]::new);
+            if (status != GeneralStatus.ACTIVE || words.length == 0) {
+                return null;
+            }
+            return new Named(name, imageId, words);
+        }
+
+        SearchHitDTO toHit(long id, int score) {
+            return new SearchHitDTO(id, name, imageId, score);
+        }
+    }
+}
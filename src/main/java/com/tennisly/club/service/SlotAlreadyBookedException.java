@@ -0,0 +1,10 @@
+package com.tennisly.club.service;
+
+public class SlotAlreadyBookedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SlotAlreadyBookedException() {
+        super("Court or player already booked at this time!");
+    }
+}
@@ -0,0 +1,168 @@
+package com.tennisly.club.service;
+
+import com.tennisly.club.domain.Media;
+import com.tennisly.club.domain.MediaThumbnail;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downscales images with the JDK's ImageIO and Java2D, without any native library.
+ * <p>
+ * Opaque images are written as JPEG, images with transparency as PNG.
+ */
+final class ThumbnailGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailGenerator.class);
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private ThumbnailGenerator() {}
+
+    /**
+     * Read the width and height of an image from its header, without decoding its pixels.
+     *
+     * @param content the image.
+     * @return the width and height, or empty if the content is not an image ImageIO can read.
+     */
+    static Optional<Dimension> readSize(byte[] content) {
+        try {
+            return read(content, reader -> new Dimension(reader.getWidth(0), reader.getHeight(0)));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not read the size of an image", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Create the thumbnails of an image whose longest side is each of the given sizes, decoding the image once.
+     * <p>
+     * The size of the image must have been checked with {@link #readSize(byte[])}, as it is decoded whole.
+     *
+     * @param media the original image.
+     * @param sizes the maximum width and height of each thumbnail.
+     * @return the thumbnails of the sizes the image is larger than, none if the media is not a readable image.
+     */
+    static List<MediaThumbnail> generate(Media media, List<Integer> sizes) {
+        List<MediaThumbnail> thumbnails = new ArrayList<>();
+        try {
+            BufferedImage source = read(media.getContent(), reader -> reader.read(0)).orElse(null);
+            if (source == null) {
+                return thumbnails;
+            }
+            boolean alpha = source.getColorModel().hasAlpha();
+            for (int size : sizes) {
+                if (Math.max(source.getWidth(), source.getHeight()) > size) {
+                    BufferedImage scaled = scale(source, size, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+                    byte[] content = alpha ? write(scaled, "png") : writeJpeg(scaled);
+                    thumbnails.add(
+                        new MediaThumbnail()
+                            .mediaId(media.getId())
+                            .size(size)
+                            .contentType(alpha ? "image/png" : "image/jpeg")
+                            .content(content)
+                    );
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not create the thumbnails of Media {}", media.getId(), e);
+        }
+        return thumbnails;
+    }
+
+    /**
+     * Apply a function to the first {@link ImageReader} which reads the content.
+     *
+     * @return the result, or empty if no reader reads the content.
+     */
+    private static <T> Optional<T> read(byte[] content, ReaderFunction<T> function) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return Optional.ofNullable(function.apply(reader));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReaderFunction<T> {
+        T apply(ImageReader reader) throws IOException;
+    }
+
+    /**
+     * Halve the image until it is close to the target, then finish with one bicubic pass.
+     * A single bicubic pass over a large factor skips most source pixels and aliases badly.
+     */
+    private static BufferedImage scale(BufferedImage source, int size, int type) {
+        double ratio = (double) size / Math.max(source.getWidth(), source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height, type);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, int type) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] write(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
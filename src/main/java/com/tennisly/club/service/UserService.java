@@ -3,9 +3,11 @@ package com.tennisly.club.service;
 import com.tennisly.club.config.Constants;
 import com.tennisly.club.domain.Authority;
 import com.tennisly.club.domain.User;
+import com.tennisly.club.domain.User_;
 import com.tennisly.club.repository.AuthorityRepository;
 import com.tennisly.club.repository.UserRepository;
 import com.tennisly.club.security.AuthoritiesConstants;
+import com.tennisly.club.security.BoundedPasswordEncoder;
 import com.tennisly.club.security.SecurityUtils;
 import com.tennisly.club.service.dto.AdminUserDTO;
 import com.tennisly.club.service.dto.UserDTO;
@@ -16,9 +18,11 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
@@ -34,14 +38,26 @@ public class UserService {
 
     private final UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final CurrentPlayerContext currentPlayerContext;
+
+    private final MailService mailService;
+
+    public UserService(
+        UserRepository userRepository,
+        BoundedPasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        CurrentPlayerContext currentPlayerContext,
+        MailService mailService
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.currentPlayerContext = currentPlayerContext;
+        this.mailService = mailService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -63,6 +79,7 @@ public class UserService {
             .findOneByResetKey(key)
             .filter(user -> user.getResetDate().isAfter(Instant.now().minus(1, ChronoUnit.DAYS)))
             .map(user -> {
+                passwordEncoder.forget(user.getPassword());
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
@@ -77,6 +94,7 @@ public class UserService {
             .map(user -> {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
+                mailService.sendPasswordResetMail(user);
                 return user;
             });
     }
@@ -161,6 +179,7 @@ public class UserService {
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
+        mailService.sendCreationEmail(user);
         log.debug("Created Information for User: {}", user);
         return user;
     }
@@ -177,6 +196,7 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                currentPlayerContext.evict(user.getLogin());
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -206,6 +226,7 @@ public class UserService {
             .findOneByLogin(login)
             .ifPresent(user -> {
                 userRepository.delete(user);
+                currentPlayerContext.evict(user.getLogin());
                 log.debug("Deleted User: {}", user);
             });
     }
@@ -246,6 +267,7 @@ public class UserService {
                     throw new InvalidPasswordException();
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
+                passwordEncoder.forget(currentEncryptedPassword);
                 user.setPassword(encryptedPassword);
                 log.debug("Changed password for User: {}", user);
             });
@@ -256,6 +278,20 @@ public class UserService {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    /**
+     * Get the users ordered by id, starting after the given id, without counting them.
+     *
+     * @param afterId the id of the last user already returned, or {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the users.
+     */
+    @Transactional(readOnly = true)
+    public Slice<AdminUserDTO> getAllManagedUsers(Long afterId, int size) {
+        return userRepository
+            .findAllByIdGreaterThan(afterId != null ? afterId : Long.MIN_VALUE, PageRequest.of(0, size, Sort.by(User_.ID)))
+            .map(AdminUserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
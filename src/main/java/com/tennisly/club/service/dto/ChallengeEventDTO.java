@@ -0,0 +1,130 @@
+package com.tennisly.club.service.dto;
+
+import com.tennisly.club.domain.enumeration.ChallengeStatus;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import java.time.Instant;
+
+/**
+ * A DTO representing a change of a challenge, pushed to its proposer and acceptor.
+ */
+public class ChallengeEventDTO {
+
+    private Long challengeId;
+
+    private ChallengeStatus challengeStatus;
+
+    private GeneralStatus status;
+
+    private Instant matchTime;
+
+    private Long cordId;
+
+    private Long proposerId;
+
+    private Long acceptorId;
+
+    private boolean deleted;
+
+    public ChallengeEventDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ChallengeEventDTO(
+        Long challengeId,
+        ChallengeStatus challengeStatus,
+        GeneralStatus status,
+        Instant matchTime,
+        Long cordId,
+        Long proposerId,
+        Long acceptorId,
+        boolean deleted
+    ) {
+        this.challengeId = challengeId;
+        this.challengeStatus = challengeStatus;
+        this.status = status;
+        this.matchTime = matchTime;
+        this.cordId = cordId;
+        this.proposerId = proposerId;
+        this.acceptorId = acceptorId;
+        this.deleted = deleted;
+    }
+
+    public Long getChallengeId() {
+        return challengeId;
+    }
+
+    public void setChallengeId(Long challengeId) {
+        this.challengeId = challengeId;
+    }
+
+    public ChallengeStatus getChallengeStatus() {
+        return challengeStatus;
+    }
+
+    public void setChallengeStatus(ChallengeStatus challengeStatus) {
+        this.challengeStatus = challengeStatus;
+    }
+
+    public GeneralStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GeneralStatus status) {
+        this.status = status;
+    }
+
+    public Instant getMatchTime() {
+        return matchTime;
+    }
+
+    public void setMatchTime(Instant matchTime) {
+        this.matchTime = matchTime;
+    }
+
+    public Long getCordId() {
+        return cordId;
+    }
+
+    public void setCordId(Long cordId) {
+        this.cordId = cordId;
+    }
+
+    public Long getProposerId() {
+        return proposerId;
+    }
+
+    public void setProposerId(Long proposerId) {
+        this.proposerId = proposerId;
+    }
+
+    public Long getAcceptorId() {
+        return acceptorId;
+    }
+
+    public void setAcceptorId(Long acceptorId) {
+        this.acceptorId = acceptorId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ChallengeEventDTO{" +
+            "challengeId=" + challengeId +
+            ", challengeStatus=" + challengeStatus +
+            ", status=" + status +
+            ", matchTime=" + matchTime +
+            ", cordId=" + cordId +
+            ", proposerId=" + proposerId +
+            ", acceptorId=" + acceptorId +
+            ", deleted=" + deleted +
+            "}";
+    }
+}
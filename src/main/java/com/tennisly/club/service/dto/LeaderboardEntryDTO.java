@@ -0,0 +1,83 @@
+package com.tennisly.club.service.dto;
+
+import com.tennisly.club.domain.enumeration.Level;
+
+/**
+ * A DTO representing the rank of a player on a leaderboard. Players with the same rating share their rank.
+ */
+public class LeaderboardEntryDTO {
+
+    private int rank;
+
+    private Long playerId;
+
+    private String fullName;
+
+    private Level level;
+
+    private int rating;
+
+    public LeaderboardEntryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public LeaderboardEntryDTO(int rank, Long playerId, String fullName, Level level, int rating) {
+        this.rank = rank;
+        this.playerId = playerId;
+        this.fullName = fullName;
+        this.level = level;
+        this.rating = rating;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public void setRating(int rating) {
+        this.rating = rating;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LeaderboardEntryDTO{" +
+            "rank=" + rank +
+            ", playerId=" + playerId +
+            ", fullName='" + fullName + '\'' +
+            ", level=" + level +
+            ", rating=" + rating +
+            "}";
+    }
+}
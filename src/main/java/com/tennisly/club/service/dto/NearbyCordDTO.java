@@ -0,0 +1,103 @@
+package com.tennisly.club.service.dto;
+
+/**
+ * A DTO representing a cord found near a location, with its distance from it in kilometres.
+ */
+public class NearbyCordDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String adress;
+
+    private String imageId;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private double distance;
+
+    public NearbyCordDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public NearbyCordDTO(Long id, String name, String adress, String imageId, Double latitude, Double longitude, double distance) {
+        this.id = id;
+        this.name = name;
+        this.adress = adress;
+        this.imageId = imageId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distance = distance;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getAdress() {
+        return adress;
+    }
+
+    public void setAdress(String adress) {
+        this.adress = adress;
+    }
+
+    public String getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(String imageId) {
+        this.imageId = imageId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public void setDistance(double distance) {
+        this.distance = distance;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NearbyCordDTO{" +
+            "id=" + id +
+            ", name='" + name + '\'' +
+            ", latitude=" + latitude +
+            ", longitude=" + longitude +
+            ", distance=" + distance +
+            "}";
+    }
+}
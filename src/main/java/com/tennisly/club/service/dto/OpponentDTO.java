@@ -0,0 +1,95 @@
+package com.tennisly.club.service.dto;
+
+import com.tennisly.club.domain.enumeration.Gender;
+import com.tennisly.club.domain.enumeration.Level;
+
+/**
+ * A DTO representing a player suggested as an opponent, with the number of challenges they already had with the caller.
+ */
+public class OpponentDTO {
+
+    private Long id;
+
+    private String fullName;
+
+    private Level level;
+
+    private Gender gender;
+
+    private String photoId;
+
+    private int challengeCount;
+
+    public OpponentDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public OpponentDTO(Long id, String fullName, Level level, Gender gender, String photoId, int challengeCount) {
+        this.id = id;
+        this.fullName = fullName;
+        this.level = level;
+        this.gender = gender;
+        this.photoId = photoId;
+        this.challengeCount = challengeCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    public Gender getGender() {
+        return gender;
+    }
+
+    public void setGender(Gender gender) {
+        this.gender = gender;
+    }
+
+    public String getPhotoId() {
+        return photoId;
+    }
+
+    public void setPhotoId(String photoId) {
+        this.photoId = photoId;
+    }
+
+    public int getChallengeCount() {
+        return challengeCount;
+    }
+
+    public void setChallengeCount(int challengeCount) {
+        this.challengeCount = challengeCount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OpponentDTO{" +
+            "id=" + id +
+            ", fullName='" + fullName + '\'' +
+            ", level=" + level +
+            ", gender=" + gender +
+            ", challengeCount=" + challengeCount +
+            "}";
+    }
+}
@@ -0,0 +1,69 @@
+package com.tennisly.club.service.dto;
+
+/**
+ * A DTO representing a player or cord found by a search, with the media id of its picture.
+ */
+public class SearchHitDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String imageId;
+
+    private int score;
+
+    public SearchHitDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SearchHitDTO(Long id, String name, String imageId, int score) {
+        this.id = id;
+        this.name = name;
+        this.imageId = imageId;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(String imageId) {
+        this.imageId = imageId;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchHitDTO{" +
+            "id=" + id +
+            ", name='" + name + '\'' +
+            ", imageId='" + imageId + '\'' +
+            ", score=" + score +
+            "}";
+    }
+}
@@ -0,0 +1,48 @@
+package com.tennisly.club.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the players and cords found by a search, best first.
+ */
+public class SearchResultDTO {
+
+    private List<SearchHitDTO> players = new ArrayList<>();
+
+    private List<SearchHitDTO> cords = new ArrayList<>();
+
+    public SearchResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SearchResultDTO(List<SearchHitDTO> players, List<SearchHitDTO> cords) {
+        this.players = players;
+        this.cords = cords;
+    }
+
+    public List<SearchHitDTO> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<SearchHitDTO> players) {
+        this.players = players;
+    }
+
+    public List<SearchHitDTO> getCords() {
+        return cords;
+    }
+
+    public void setCords(List<SearchHitDTO> cords) {
+        this.cords = cords;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchResultDTO{" +
+            "players=" + players +
+            ", cords=" + cords +
+            "}";
+    }
+}
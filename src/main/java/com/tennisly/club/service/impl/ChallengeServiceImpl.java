@@ -1,18 +1,33 @@
 package com.tennisly.club.service.impl;
 
 import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.enumeration.ChallengeStatus;
+import com.tennisly.club.domain.enumeration.ChallengeTransition;
 import com.tennisly.club.repository.ChallengeRepository;
+import com.tennisly.club.service.BookingService;
+import com.tennisly.club.service.ChallengeEventService;
 import com.tennisly.club.service.ChallengeService;
+import com.tennisly.club.service.CurrentPlayerContext;
+import com.tennisly.club.service.InvalidChallengeException;
+import com.tennisly.club.service.MatchmakingService;
+import com.tennisly.club.service.RatingService;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link Challenge}.
+ * <p>
+ * Every change is passed to the {@link BookingService}, which rejects a court or player booked twice at once,
+ * to the {@link MatchmakingService}, which counts the challenges between players, and to the
+ * {@link ChallengeEventService}, which pushes it to the players of the challenge.
  */
 @Service
 @Transactional
@@ -22,14 +37,48 @@ public class ChallengeServiceImpl implements ChallengeService {
 
     private final ChallengeRepository challengeRepository;
 
-    public ChallengeServiceImpl(ChallengeRepository challengeRepository) {
+    private final BookingService bookingService;
+
+    private final MatchmakingService matchmakingService;
+
+    private final ChallengeEventService challengeEventService;
+
+    private final CurrentPlayerContext currentPlayerContext;
+
+    private final RatingService ratingService;
+
+    public ChallengeServiceImpl(
+        ChallengeRepository challengeRepository,
+        BookingService bookingService,
+        MatchmakingService matchmakingService,
+        ChallengeEventService challengeEventService,
+        CurrentPlayerContext currentPlayerContext,
+        RatingService ratingService
+    ) {
         this.challengeRepository = challengeRepository;
+        this.bookingService = bookingService;
+        this.matchmakingService = matchmakingService;
+        this.challengeEventService = challengeEventService;
+        this.currentPlayerContext = currentPlayerContext;
+        this.ratingService = ratingService;
     }
 
     @Override
     public Challenge save(Challenge challenge) {
         log.debug("Request to save Challenge : {}", challenge);
-        return challengeRepository.save(challenge);
+        return book(challengeRepository.save(challenge));
+    }
+
+    @Override
+    public Optional<Challenge> update(Challenge challenge) {
+        log.debug("Request to update Challenge : {}", challenge);
+        return challengeRepository
+            .findOneForUpdate(challenge.getId())
+            .map(existingChallenge -> {
+                checkUpdate(existingChallenge, challenge.getChallengeStatus());
+                return challengeRepository.save(challenge);
+            })
+            .map(this::book);
     }
 
     @Override
@@ -37,21 +86,47 @@ public class ChallengeServiceImpl implements ChallengeService {
         log.debug("Request to partially update Challenge : {}", challenge);
 
         return challengeRepository
-            .findById(challenge.getId())
+            .findOneForUpdate(challenge.getId())
             .map(existingChallenge -> {
+                checkUpdate(
+                    existingChallenge,
+                    challenge.getChallengeStatus() != null ? challenge.getChallengeStatus() : existingChallenge.getChallengeStatus()
+                );
                 if (challenge.getMatchTime() != null) {
                     existingChallenge.setMatchTime(challenge.getMatchTime());
                 }
-                if (challenge.getChallengeStatus() != null) {
-                    existingChallenge.setChallengeStatus(challenge.getChallengeStatus());
-                }
                 if (challenge.getStatus() != null) {
                     existingChallenge.setStatus(challenge.getStatus());
                 }
 
                 return existingChallenge;
             })
-            .map(challengeRepository::save);
+            .map(challengeRepository::save)
+            .map(this::book);
+    }
+
+    @Override
+    public Optional<Challenge> transition(Long id, ChallengeTransition transition) {
+        log.debug("Request to {} Challenge : {}", transition, id);
+        Long playerId = currentPlayerContext.getPlayerId().orElse(null);
+        int updated = challengeRepository.updateChallengeStatus(
+            id,
+            transition.getSources(),
+            transition.getTarget(),
+            playerId,
+            transition.isProposerAllowed()
+        );
+        if (updated == 0) {
+            Optional<Challenge> challenge = challengeRepository.findById(id);
+            if (challenge.isEmpty()) {
+                return Optional.empty();
+            }
+            if (playerId == null || !mayMake(challenge.get(), transition, playerId)) {
+                throw new AccessDeniedException("Player " + playerId + " may not " + transition + " Challenge " + id);
+            }
+            throw new OptimisticLockingFailureException("Challenge " + id + " is not in " + transition.getSources());
+        }
+        return challengeRepository.findById(id).map(this::book);
     }
 
     @Override
@@ -71,6 +146,48 @@ public class ChallengeServiceImpl implements ChallengeService {
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Challenge : {}", id);
+        bookingService.release(id);
+        ratingService.deleteResult(id);
+        matchmakingService.removeChallenge(id);
+        challengeRepository.findById(id).ifPresent(challengeEventService::publishDeletion);
         challengeRepository.deleteById(id);
     }
+
+    /**
+     * Only the players of a challenge may edit it, and its status only changes through a transition, which checks
+     * who makes it and books or releases the slot. The row is locked, so a concurrent transition waits for the update.
+     */
+    private void checkUpdate(Challenge existingChallenge, ChallengeStatus challengeStatus) {
+        Long playerId = currentPlayerContext.getPlayerId().orElse(null);
+        if (
+            playerId == null ||
+            !(isPlayer(existingChallenge.getProposer(), playerId) || isPlayer(existingChallenge.getAcceptor(), playerId))
+        ) {
+            throw new AccessDeniedException("Player " + playerId + " may not update Challenge " + existingChallenge.getId());
+        }
+        if (challengeStatus != existingChallenge.getChallengeStatus()) {
+            throw new InvalidChallengeException(
+                "The status of a challenge is changed by accepting, rejecting or cancelling it",
+                "statuschanged"
+            );
+        }
+    }
+
+    private static boolean isPlayer(Player player, Long playerId) {
+        return player != null && playerId.equals(player.getId());
+    }
+
+    private static boolean mayMake(Challenge challenge, ChallengeTransition transition, Long playerId) {
+        if (challenge.getAcceptor() != null && playerId.equals(challenge.getAcceptor().getId())) {
+            return true;
+        }
+        return transition.isProposerAllowed() && challenge.getProposer() != null && playerId.equals(challenge.getProposer().getId());
+    }
+
+    private Challenge book(Challenge challenge) {
+        bookingService.book(challenge);
+        matchmakingService.updateChallenge(challenge);
+        challengeEventService.publish(challenge);
+        return challenge;
+    }
 }
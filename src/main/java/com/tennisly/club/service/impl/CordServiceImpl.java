@@ -1,8 +1,12 @@
 package com.tennisly.club.service.impl;
 
 import com.tennisly.club.domain.Cord;
+import com.tennisly.club.domain.Media;
 import com.tennisly.club.repository.CordRepository;
 import com.tennisly.club.service.CordService;
+import com.tennisly.club.service.MediaService;
+import com.tennisly.club.service.NearbyCordService;
+import com.tennisly.club.service.SearchService;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -23,14 +27,29 @@ public class CordServiceImpl implements CordService {
 
     private final CordRepository cordRepository;
 
-    public CordServiceImpl(CordRepository cordRepository) {
+    private final MediaService mediaService;
+
+    private final SearchService searchService;
+
+    private final NearbyCordService nearbyCordService;
+
+    public CordServiceImpl(
+        CordRepository cordRepository,
+        MediaService mediaService,
+        SearchService searchService,
+        NearbyCordService nearbyCordService
+    ) {
         this.cordRepository = cordRepository;
+        this.mediaService = mediaService;
+        this.searchService = searchService;
+        this.nearbyCordService = nearbyCordService;
     }
 
     @Override
     public Cord save(Cord cord) {
         log.debug("Request to save Cord : {}", cord);
-        return cordRepository.save(cord);
+        storeImage(cord);
+        return index(cordRepository.save(cord));
     }
 
     @Override
@@ -49,16 +68,27 @@ public class CordServiceImpl implements CordService {
                 if (cord.getImage() != null) {
                     existingCord.setImage(cord.getImage());
                 }
+                if (cord.getImageId() != null) {
+                    existingCord.setImageId(cord.getImageId());
+                }
                 if (cord.getImageContentType() != null) {
                     existingCord.setImageContentType(cord.getImageContentType());
                 }
                 if (cord.getStatus() != null) {
                     existingCord.setStatus(cord.getStatus());
                 }
+                if (cord.getLatitude() != null) {
+                    existingCord.setLatitude(cord.getLatitude());
+                }
+                if (cord.getLongitude() != null) {
+                    existingCord.setLongitude(cord.getLongitude());
+                }
+                storeImage(existingCord);
 
                 return existingCord;
             })
-            .map(cordRepository::save);
+            .map(cordRepository::save)
+            .map(this::index);
     }
 
     @Override
@@ -78,6 +108,23 @@ public class CordServiceImpl implements CordService {
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Cord : {}", id);
+        searchService.removeCord(id);
+        nearbyCordService.removeCord(id);
         cordRepository.deleteById(id);
     }
+
+    private Cord index(Cord cord) {
+        searchService.updateCord(cord);
+        nearbyCordService.updateCord(cord);
+        return cord;
+    }
+
+    private void storeImage(Cord cord) {
+        if (cord.getImage() != null) {
+            Media media = mediaService.store(cord.getImage(), cord.getImageContentType());
+            cord.setImageId(media.getId());
+            cord.setImageContentType(media.getContentType());
+            cord.setImage(null);
+        }
+    }
 }
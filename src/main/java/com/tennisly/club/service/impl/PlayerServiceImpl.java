@@ -1,20 +1,18 @@
 package com.tennisly.club.service.impl;
 
+import com.tennisly.club.domain.Media;
 import com.tennisly.club.domain.Player;
-import com.tennisly.club.domain.User;
 import com.tennisly.club.repository.PlayerRepository;
-import com.tennisly.club.repository.UserRepository;
-import com.tennisly.club.security.SecurityUtils;
+import com.tennisly.club.service.CurrentPlayerContext;
+import com.tennisly.club.service.LeaderboardService;
+import com.tennisly.club.service.MatchmakingService;
+import com.tennisly.club.service.MediaService;
 import com.tennisly.club.service.PlayerService;
-import java.util.List;
+import com.tennisly.club.service.SearchService;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,14 +28,38 @@ public class PlayerServiceImpl implements PlayerService {
 
     private final PlayerRepository playerRepository;
 
-    public PlayerServiceImpl(PlayerRepository playerRepository) {
+    private final MediaService mediaService;
+
+    private final CurrentPlayerContext currentPlayerContext;
+
+    private final MatchmakingService matchmakingService;
+
+    private final LeaderboardService leaderboardService;
+
+    private final SearchService searchService;
+
+    public PlayerServiceImpl(
+        PlayerRepository playerRepository,
+        MediaService mediaService,
+        CurrentPlayerContext currentPlayerContext,
+        MatchmakingService matchmakingService,
+        LeaderboardService leaderboardService,
+        SearchService searchService
+    ) {
         this.playerRepository = playerRepository;
+        this.mediaService = mediaService;
+        this.currentPlayerContext = currentPlayerContext;
+        this.matchmakingService = matchmakingService;
+        this.leaderboardService = leaderboardService;
+        this.searchService = searchService;
     }
 
     @Override
     public Player save(Player player) {
         log.debug("Request to save Player : {}", player);
-        return playerRepository.save(player);
+        storePhoto(player);
+        currentPlayerContext.evictAll();
+        return index(playerRepository.save(player));
     }
 
     @Override
@@ -62,35 +84,30 @@ public class PlayerServiceImpl implements PlayerService {
                 if (player.getPhoto() != null) {
                     existingPlayer.setPhoto(player.getPhoto());
                 }
+                if (player.getPhotoId() != null) {
+                    existingPlayer.setPhotoId(player.getPhotoId());
+                }
                 if (player.getPhotoContentType() != null) {
                     existingPlayer.setPhotoContentType(player.getPhotoContentType());
                 }
                 if (player.getStatus() != null) {
                     existingPlayer.setStatus(player.getStatus());
                 }
+                storePhoto(existingPlayer);
+                currentPlayerContext.evictAll();
 
                 return existingPlayer;
             })
-            .map(playerRepository::save);
+            .map(playerRepository::save)
+            .map(this::index);
     }
 
-    @Autowired
-    UserRepository userRepository;
-
     @Override
     @Transactional(readOnly = true)
     public Page<Player> findAll(Pageable pageable) {
-        Optional<String> login = SecurityUtils.getCurrentUserLogin();
-        User user = userRepository.findOneByLogin(login.orElseThrow()).orElseThrow();
-        List<Player> players = playerRepository
-            .findAll(pageable)
-            .stream()
-            .filter(player -> player.getInternalUser() != null && player.getInternalUser().getId() != user.getId())
-            .collect(Collectors.toList());
-
         log.debug("Request to get all Players");
-
-        return new PageImpl<>(players);
+        Long userId = currentPlayerContext.getUserId().orElseThrow();
+        return playerRepository.findAllByInternalUser_IdNot(userId, pageable);
     }
 
     @Override
@@ -109,6 +126,26 @@ public class PlayerServiceImpl implements PlayerService {
     @Override
     public void delete(Long id) {
         log.debug("Request to delete Player : {}", id);
+        currentPlayerContext.evictAll();
+        matchmakingService.removePlayer(id);
+        leaderboardService.removePlayer(id);
+        searchService.removePlayer(id);
         playerRepository.deleteById(id);
     }
+
+    private Player index(Player player) {
+        matchmakingService.updatePlayer(player);
+        leaderboardService.updatePlayer(player);
+        searchService.updatePlayer(player);
+        return player;
+    }
+
+    private void storePhoto(Player player) {
+        if (player.getPhoto() != null) {
+            Media media = mediaService.store(player.getPhoto(), player.getPhotoContentType());
+            player.setPhotoId(media.getId());
+            player.setPhotoContentType(media.getContentType());
+            player.setPhoto(null);
+        }
+    }
 }
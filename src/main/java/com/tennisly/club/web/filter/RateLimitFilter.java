@@ -0,0 +1,241 @@
+package com.tennisly.club.web.filter;
+
+import com.tennisly.club.config.ApplicationProperties;
+import com.tennisly.club.web.rest.errors.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+/**
+ * Limits the requests of each user, or of each client IP for anonymous calls, with a token bucket per group of
+ * endpoints.
+ * <p>
+ * A request counts against the first group of {@code application.rate-limit.groups} with a matching pattern, and
+ * requests matching no group are not limited. A bucket is the time at which it is full again, moved forward by one
+ * refill interval for each request with a compare-and-set, so requests never wait for a lock; a request which would
+ * move it further than the capacity allows is answered with a {@code 429} and a {@code Retry-After} header. Every
+ * limited response has the {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers.
+ * <p>
+ * A request with HTTP Basic credentials counts against the {@code basic-authentication-group} instead, by client IP,
+ * whatever its path: the filter runs before the credentials are checked, so that guessing passwords is limited as on
+ * {@code /api/authenticate}, whether the guesses succeed or not.
+ * <p>
+ * Each group keeps at most {@code max-keys} buckets: buckets which are full again are dropped, every minute or, when
+ * the group is at its limit, every second. The keys which still find no room share one bucket until some are dropped.
+ * <p>
+ * The client IP is the remote address of the request, so behind a proxy {@code server.forward-headers-strategy} must
+ * be set for it to be the address of the client.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final long SWEEP_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private static final long FULL_SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final List<Group> groups;
+
+    private final Group basicAuthenticationGroup;
+
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public RateLimitFilter(
+        ApplicationProperties.RateLimit properties,
+        MeterRegistry meterRegistry,
+        HandlerExceptionResolver handlerExceptionResolver
+    ) {
+        this.groups =
+            properties
+                .getGroups()
+                .stream()
+                .map(group -> new Group(group, properties.getMaxKeys(), meterRegistry))
+                .collect(Collectors.toList());
+        this.basicAuthenticationGroup =
+            groups.stream().filter(group -> group.name.equals(properties.getBasicAuthenticationGroup())).findFirst().orElse(null);
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        Group group = basicAuthenticationGroup != null && hasBasicCredentials(request) ? basicAuthenticationGroup : groupOf(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean anonymous = authentication == null || authentication instanceof AnonymousAuthenticationToken;
+        String key = anonymous ? "ip:" + request.getRemoteAddr() : "user:" + authentication.getName();
+
+        long now = System.nanoTime();
+        long wait = group.bucket(key, now).acquire(now, group);
+        response.setHeader("RateLimit-Limit", String.valueOf(group.capacity));
+        if (wait <= group.burst) {
+            response.setHeader("RateLimit-Remaining", String.valueOf((group.burst - wait) / group.interval));
+            response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(wait)));
+            filterChain.doFilter(request, response);
+            return;
+        }
+        (anonymous ? group.rejectedAnonymous : group.rejectedUsers).increment();
+        response.setHeader("RateLimit-Remaining", "0");
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(wait - group.interval)));
+        long retryAfter = toSeconds(wait - group.burst);
+        handlerExceptionResolver.resolveException(request, response, null, new RateLimitExceededException(group.name, retryAfter));
+    }
+
+    private Group groupOf(HttpServletRequest request) {
+        for (Group group : groups) {
+            if (group.matcher.matches(request)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasBasicCredentials(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null && authorization.regionMatches(true, 0, "Basic ", 0, 6);
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * The endpoints sharing a budget, with a bucket per key.
+     */
+    private final class Group {
+
+        private final String name;
+
+        private final RequestMatcher matcher;
+
+        private final long capacity;
+
+        /** The nanoseconds in which one request is given back. */
+        private final long interval;
+
+        /** The nanoseconds in which an empty bucket is full again. */
+        private final long burst;
+
+        private final int maxKeys;
+
+        private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+        /** The bucket of the keys which found no room. */
+        private final Bucket overflow;
+
+        private final AtomicLong lastSweep;
+
+        private final Counter rejectedUsers;
+
+        private final Counter rejectedAnonymous;
+
+        Group(ApplicationProperties.RateLimit.Group properties, int maxKeys, MeterRegistry meterRegistry) {
+            this.name = properties.getName();
+            List<RequestMatcher> matchers = new ArrayList<>();
+            properties.getPatterns().forEach(pattern -> matchers.add(new AntPathRequestMatcher(pattern)));
+            this.matcher = new OrRequestMatcher(matchers);
+            this.capacity = properties.getCapacity();
+            this.interval = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / properties.getRefillPerSecond()));
+            this.burst = capacity * interval;
+            this.maxKeys = maxKeys;
+            long now = System.nanoTime();
+            this.overflow = new Bucket("overflow", now);
+            this.lastSweep = new AtomicLong(now);
+            this.rejectedUsers = meterRegistry.counter("rate.limit.rejected", "group", name, "key", "user");
+            this.rejectedAnonymous = meterRegistry.counter("rate.limit.rejected", "group", name, "key", "ip");
+            meterRegistry.gaugeMapSize("rate.limit.keys", Tags.of("group", name), buckets);
+        }
+
+        Bucket bucket(String key, long now) {
+            Bucket bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            long last = lastSweep.get();
+            boolean full = buckets.size() >= maxKeys;
+            if (now - last > (full ? FULL_SWEEP_INTERVAL : SWEEP_INTERVAL) && lastSweep.compareAndSet(last, now)) {
+                buckets.values().removeIf(candidate -> candidate.isFull(now));
+                full = buckets.size() >= maxKeys;
+            }
+            if (full) {
+                log.debug("Rate limit of {} keeps {} keys, {} shares the overflow bucket", name, buckets.size(), key);
+                return overflow;
+            }
+            return buckets.computeIfAbsent(key, k -> new Bucket(k, now));
+        }
+    }
+
+    /**
+     * The budget of a key: the time at which it is full again, which is never before now.
+     */
+    private final class Bucket {
+
+        private final String key;
+
+        private final AtomicLong fullAt;
+
+        /** Whether the last request of the key was rejected, so that throttling is logged once when it starts. */
+        private volatile boolean throttled;
+
+        Bucket(String key, long now) {
+            this.key = key;
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /**
+         * Take one request from the bucket, if the group's burst allows it.
+         *
+         * @return the nanoseconds until the bucket is full again with the request counted: more than the burst of the
+         * group when the request is rejected.
+         */
+        long acquire(long now, Group group) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + group.interval;
+                if (next - now > group.burst) {
+                    if (!throttled) {
+                        throttled = true;
+                        log.warn("Rate limit of {} exceeded by {}", group.name, key);
+                    }
+                    return next - now;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    if (throttled) {
+                        throttled = false;
+                    }
+                    return next - now;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return fullAt.get() - now <= 0;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Servlet filters of the API.
+ */
+package com.tennisly.club.web.filter;
@@ -1,10 +1,9 @@
 package com.tennisly.club.web.rest;
 
 import com.tennisly.club.domain.User;
-import com.tennisly.club.repository.PlayerRepository;
 import com.tennisly.club.repository.UserRepository;
 import com.tennisly.club.security.SecurityUtils;
-import com.tennisly.club.service.MailService;
+import com.tennisly.club.service.CurrentPlayerContext;
 import com.tennisly.club.service.UserService;
 import com.tennisly.club.service.dto.AdminUserDTO;
 import com.tennisly.club.service.dto.PasswordChangeDTO;
@@ -40,20 +39,12 @@ public class AccountResource {
 
     private final UserService userService;
 
-    private final MailService mailService;
+    private final CurrentPlayerContext currentPlayerContext;
 
-    private final PlayerRepository playerRepository;
-
-    public AccountResource(
-        UserRepository userRepository,
-        UserService userService,
-        MailService mailService,
-        PlayerRepository playerRepository
-    ) {
+    public AccountResource(UserRepository userRepository, UserService userService, CurrentPlayerContext currentPlayerContext) {
         this.userRepository = userRepository;
         this.userService = userService;
-        this.mailService = mailService;
-        this.playerRepository = playerRepository;
+        this.currentPlayerContext = currentPlayerContext;
     }
 
     /**
@@ -113,7 +104,7 @@ public class AccountResource {
             .map(AdminUserDTO::new)
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
 
-        playerRepository.findOneByInternalUser_Login(adminUserDTO.getLogin()).ifPresent(item -> adminUserDTO.setPlayerId(item.getId()));
+        currentPlayerContext.getPlayerId().ifPresent(adminUserDTO::setPlayerId);
         return adminUserDTO;
     }
 
@@ -168,9 +159,7 @@ public class AccountResource {
     @PostMapping(path = "/account/reset-password/init")
     public void requestPasswordReset(@RequestBody String mail) {
         Optional<User> user = userService.requestPasswordReset(mail);
-        if (user.isPresent()) {
-            mailService.sendPasswordResetMail(user.get());
-        } else {
+        if (user.isEmpty()) {
             // Pretend the request has been successful to prevent checking which emails really exist
             // but log that an invalid attempt has been made
             log.warn("Password reset requested for non existing mail");
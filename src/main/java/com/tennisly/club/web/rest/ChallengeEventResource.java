@@ -0,0 +1,54 @@
+package com.tennisly.club.web.rest;
+
+import com.tennisly.club.service.ChallengeEventService;
+import com.tennisly.club.service.CurrentPlayerContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for streaming the changes of the current player's challenges.
+ */
+@RestController
+@RequestMapping("/api")
+public class ChallengeEventResource {
+
+    private final Logger log = LoggerFactory.getLogger(ChallengeEventResource.class);
+
+    private final ChallengeEventService challengeEventService;
+
+    private final CurrentPlayerContext currentPlayerContext;
+
+    public ChallengeEventResource(ChallengeEventService challengeEventService, CurrentPlayerContext currentPlayerContext) {
+        this.challengeEventService = challengeEventService;
+        this.currentPlayerContext = currentPlayerContext;
+    }
+
+    /**
+     * {@code GET  /challenges/events} : stream the changes of the challenges proposed by or to the current player.
+     * <p>
+     * Each {@code challenge} event holds the challenge as it was committed. Send the id of the last event received,
+     * in the {@code Last-Event-ID} header or the {@code resume} parameter, to get the events missed while disconnected;
+     * a {@code resync} event means they are no longer kept and the challenges should be loaded again. Browsers may
+     * send the JWT as the {@code access_token} parameter.
+     *
+     * @param lastEventId the id of the last event received, from the {@code Last-Event-ID} header.
+     * @param resume the id of the last event received, for clients which cannot send headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the event stream in body,
+     * or with status {@code 404 (Not Found)} if the current user has no player.
+     */
+    @GetMapping(value = "/challenges/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChallengeEvents(
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+        @RequestParam(required = false) String resume
+    ) {
+        log.debug("REST request to stream Challenge events after {}", lastEventId != null ? lastEventId : resume);
+        return currentPlayerContext
+            .getPlayerId()
+            .map(playerId -> ResponseEntity.ok(challengeEventService.subscribe(playerId, lastEventId != null ? lastEventId : resume)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,21 +1,31 @@
 package com.tennisly.club.web.rest;
 
 import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.MatchResult;
+import com.tennisly.club.domain.enumeration.ChallengeTransition;
 import com.tennisly.club.repository.ChallengeRepository;
+import com.tennisly.club.service.BookingService;
 import com.tennisly.club.service.ChallengeQueryService;
 import com.tennisly.club.service.ChallengeService;
+import com.tennisly.club.service.RatingService;
 import com.tennisly.club.service.criteria.ChallengeCriteria;
 import com.tennisly.club.web.rest.errors.BadRequestAlertException;
+import com.tennisly.club.web.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -45,14 +55,22 @@ public class ChallengeResource {
 
     private final ChallengeQueryService challengeQueryService;
 
+    private final BookingService bookingService;
+
+    private final RatingService ratingService;
+
     public ChallengeResource(
         ChallengeService challengeService,
         ChallengeRepository challengeRepository,
-        ChallengeQueryService challengeQueryService
+        ChallengeQueryService challengeQueryService,
+        BookingService bookingService,
+        RatingService ratingService
     ) {
         this.challengeService = challengeService;
         this.challengeRepository = challengeRepository;
         this.challengeQueryService = challengeQueryService;
+        this.bookingService = bookingService;
+        this.ratingService = ratingService;
     }
 
     /**
@@ -81,7 +99,8 @@ public class ChallengeResource {
      * @param id the id of the challenge to save.
      * @param challenge the challenge to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated challenge,
-     * or with status {@code 400 (Bad Request)} if the challenge is not valid,
+     * or with status {@code 400 (Bad Request)} if the challenge is not valid or its status is changed,
+     * or with status {@code 403 (Forbidden)} if the current player is not a player of the challenge,
      * or with status {@code 500 (Internal Server Error)} if the challenge couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -102,7 +121,9 @@ public class ChallengeResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Challenge result = challengeService.save(challenge);
+        Challenge result = challengeService
+            .update(challenge)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, challenge.getId().toString()))
@@ -115,7 +136,8 @@ public class ChallengeResource {
      * @param id the id of the challenge to save.
      * @param challenge the challenge to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated challenge,
-     * or with status {@code 400 (Bad Request)} if the challenge is not valid,
+     * or with status {@code 400 (Bad Request)} if the challenge is not valid or its status is changed,
+     * or with status {@code 403 (Forbidden)} if the current player is not a player of the challenge,
      * or with status {@code 404 (Not Found)} if the challenge is not found,
      * or with status {@code 500 (Internal Server Error)} if the challenge couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -145,6 +167,100 @@ public class ChallengeResource {
         );
     }
 
+    /**
+     * {@code POST  /challenges/:id/accept} : accept the "id" challenge, if it is requested, as its acceptor.
+     *
+     * @param id the id of the challenge to accept.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated challenge,
+     * or with status {@code 404 (Not Found)},
+     * or with status {@code 403 (Forbidden)} if the current player is not the acceptor,
+     * or with status {@code 409 (Conflict)} if the challenge is no longer requested,
+     * or with status {@code 400 (Bad Request)} if its court or a player is already booked at that time.
+     */
+    @PostMapping("/challenges/{id}/accept")
+    public ResponseEntity<Challenge> acceptChallenge(@PathVariable Long id) {
+        return transition(id, ChallengeTransition.ACCEPT);
+    }
+
+    /**
+     * {@code POST  /challenges/:id/reject} : reject the "id" challenge, if it is requested, as its acceptor.
+     *
+     * @param id the id of the challenge to reject.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated challenge,
+     * or with status {@code 404 (Not Found)},
+     * or with status {@code 403 (Forbidden)} if the current player is not the acceptor,
+     * or with status {@code 409 (Conflict)} if the challenge is no longer requested.
+     */
+    @PostMapping("/challenges/{id}/reject")
+    public ResponseEntity<Challenge> rejectChallenge(@PathVariable Long id) {
+        return transition(id, ChallengeTransition.REJECT);
+    }
+
+    /**
+     * {@code POST  /challenges/:id/cancel} : cancel the "id" challenge, if it is requested or accepted, as one of its players.
+     *
+     * @param id the id of the challenge to cancel.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated challenge,
+     * or with status {@code 404 (Not Found)},
+     * or with status {@code 403 (Forbidden)} if the current player is neither the proposer nor the acceptor,
+     * or with status {@code 409 (Conflict)} if the challenge is already rejected or cancelled.
+     */
+    @PostMapping("/challenges/{id}/cancel")
+    public ResponseEntity<Challenge> cancelChallenge(@PathVariable Long id) {
+        return transition(id, ChallengeTransition.CANCEL);
+    }
+
+    /**
+     * {@code POST  /challenges/:id/result} : record the result of the "id" challenge, as one of its players, and update the
+     * ratings of its players.
+     *
+     * @param id the id of the accepted challenge.
+     * @param matchResult the result, with its winner and score.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new result,
+     * or with status {@code 404 (Not Found)},
+     * or with status {@code 403 (Forbidden)} if the current player is not a player of the challenge,
+     * or with status {@code 400 (Bad Request)} if the challenge is not accepted, not played yet, already has a result,
+     * or the winner is not one of its players.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/challenges/{id}/result")
+    public ResponseEntity<MatchResult> submitMatchResult(@PathVariable Long id, @Valid @RequestBody MatchResult matchResult)
+        throws URISyntaxException {
+        log.debug("REST request to submit MatchResult of Challenge {} : {}", id, matchResult);
+        if (matchResult.getId() != null) {
+            throw new BadRequestAlertException("A new matchResult cannot already have an ID", "matchResult", "idexists");
+        }
+        Optional<MatchResult> result = ratingService.submit(id, matchResult);
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity
+            .created(new URI("/api/challenges/" + id + "/result"))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, "matchResult", result.get().getId().toString()))
+            .body(result.get());
+    }
+
+    /**
+     * {@code GET  /challenges/:id/result} : get the result of the "id" challenge.
+     *
+     * @param id the id of the challenge.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/challenges/{id}/result")
+    public ResponseEntity<MatchResult> getMatchResult(@PathVariable Long id) {
+        log.debug("REST request to get MatchResult of Challenge : {}", id);
+        return ResponseUtil.wrapOrNotFound(ratingService.findByChallenge(id));
+    }
+
+    private ResponseEntity<Challenge> transition(Long id, ChallengeTransition transition) {
+        log.debug("REST request to {} Challenge : {}", transition, id);
+        Optional<Challenge> result = challengeService.transition(id, transition);
+        return ResponseUtil.wrapOrNotFound(
+            result,
+            HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id.toString())
+        );
+    }
+
     /**
      * {@code GET  /challenges} : get all the challenges.
      *
@@ -160,6 +276,43 @@ public class ChallengeResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /challenges/feed} : get the current player's challenges ordered by match time, one page at a time.
+     * <p>
+     * While there are more challenges, the {@code Link} header points to the next page with an opaque cursor.
+     * Pages are read with a seek on the last (matchTime, id), so deep pages cost the same as the first one.
+     *
+     * @param cursor the cursor from the previous {@code Link} header, absent or empty for the first page.
+     * @param size the size of the page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of challenges in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping("/challenges/feed")
+    public ResponseEntity<List<Challenge>> getChallengeFeed(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get the Challenge feed after cursor : {}", cursor);
+        Instant matchTime = null;
+        Long id = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] keys = CursorPaginationUtil.decodeCursor(cursor, 2, ENTITY_NAME);
+            try {
+                matchTime = Instant.parse(keys[0]);
+                id = Long.valueOf(keys[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw CursorPaginationUtil.invalidCursor(ENTITY_NAME);
+            }
+        }
+        Slice<Challenge> slice = challengeQueryService.findFeed(matchTime, id, CursorPaginationUtil.pageSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            challenge -> CursorPaginationUtil.encodeCursor(challenge.getMatchTime(), challenge.getId())
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
     /**
      * {@code GET  /challenges/count} : count all the challenges.
      *
@@ -172,6 +325,26 @@ public class ChallengeResource {
         return ResponseEntity.ok().body(challengeQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /challenges/availability} : check that a court and players are free for a match.
+     *
+     * @param matchTime the start of the match.
+     * @param cordId the id of the court, if any.
+     * @param proposerId the id of the proposer, if any.
+     * @param acceptorId the id of the acceptor, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and {@code true} in body if no accepted challenge holds them.
+     */
+    @GetMapping("/challenges/availability")
+    public ResponseEntity<Boolean> getAvailability(
+        @RequestParam Instant matchTime,
+        @RequestParam(required = false) Long cordId,
+        @RequestParam(required = false) Long proposerId,
+        @RequestParam(required = false) Long acceptorId
+    ) {
+        log.debug("REST request to check availability of Cord : {} and Players : {}, {} at {}", cordId, proposerId, acceptorId, matchTime);
+        return ResponseEntity.ok().body(bookingService.isFree(cordId, Arrays.asList(proposerId, acceptorId), matchTime));
+    }
+
     /**
      * {@code GET  /challenges/:id} : get the "id" challenge.
      *
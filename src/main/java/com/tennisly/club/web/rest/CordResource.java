@@ -2,21 +2,32 @@ package com.tennisly.club.web.rest;
 
 import com.tennisly.club.domain.Cord;
 import com.tennisly.club.repository.CordRepository;
+import com.tennisly.club.service.BookingService;
 import com.tennisly.club.service.CordQueryService;
 import com.tennisly.club.service.CordService;
+import com.tennisly.club.service.NearbyCordService;
 import com.tennisly.club.service.criteria.CordCriteria;
+import com.tennisly.club.service.dto.NearbyCordDTO;
 import com.tennisly.club.web.rest.errors.BadRequestAlertException;
+import com.tennisly.club.web.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.StreamSupport;
+import javax.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -40,10 +51,22 @@ public class CordResource {
 
     private final CordQueryService cordQueryService;
 
-    public CordResource(CordService cordService, CordRepository cordRepository, CordQueryService cordQueryService) {
+    private final BookingService bookingService;
+
+    private final NearbyCordService nearbyCordService;
+
+    public CordResource(
+        CordService cordService,
+        CordRepository cordRepository,
+        CordQueryService cordQueryService,
+        BookingService bookingService,
+        NearbyCordService nearbyCordService
+    ) {
         this.cordService = cordService;
         this.cordRepository = cordRepository;
         this.cordQueryService = cordQueryService;
+        this.bookingService = bookingService;
+        this.nearbyCordService = nearbyCordService;
     }
 
     /**
@@ -54,7 +77,7 @@ public class CordResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/cords")
-    public ResponseEntity<Cord> createCord(@RequestBody Cord cord) throws URISyntaxException {
+    public ResponseEntity<Cord> createCord(@Valid @RequestBody Cord cord) throws URISyntaxException {
         log.debug("REST request to save Cord : {}", cord);
         if (cord.getId() != null) {
             throw new BadRequestAlertException("A new cord cannot already have an ID", ENTITY_NAME, "idexists");
@@ -77,8 +100,10 @@ public class CordResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/cords/{id}")
-    public ResponseEntity<Cord> updateCord(@PathVariable(value = "id", required = false) final Long id, @RequestBody Cord cord)
-        throws URISyntaxException {
+    public ResponseEntity<Cord> updateCord(
+        @PathVariable(value = "id", required = false) final Long id,
+        @Valid @RequestBody Cord cord
+    ) throws URISyntaxException {
         log.debug("REST request to update Cord : {}, {}", id, cord);
         if (cord.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -110,8 +135,10 @@ public class CordResource {
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/cords/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Cord> partialUpdateCord(@PathVariable(value = "id", required = false) final Long id, @RequestBody Cord cord)
-        throws URISyntaxException {
+    public ResponseEntity<Cord> partialUpdateCord(
+        @PathVariable(value = "id", required = false) final Long id,
+        @Valid @RequestBody Cord cord
+    ) throws URISyntaxException {
         log.debug("REST request to partial update Cord partially : {}, {}", id, cord);
         if (cord.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -145,6 +172,34 @@ public class CordResource {
         return ResponseEntity.ok().body(entityList);
     }
 
+    /**
+     * {@code GET  /cords?cursor=} : get the cords ordered by id, one page at a time and without counting them.
+     * <p>
+     * Send an empty cursor for the first page. While there are more cords, the {@code Link} header points to the next page.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param cursor the cursor from the previous {@code Link} header, empty for the first page.
+     * @param size the size of the page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cords in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping(value = "/cords", params = "cursor")
+    public ResponseEntity<List<Cord>> getCordsByCursor(
+        CordCriteria criteria,
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get Cords by criteria: {} after cursor : {}", criteria, cursor);
+        Long afterId = CursorPaginationUtil.decodeIdCursor(cursor, ENTITY_NAME);
+        Slice<Cord> slice = cordQueryService.findByCriteria(criteria, afterId, CursorPaginationUtil.pageSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            cord -> CursorPaginationUtil.encodeCursor(cord.getId())
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
     /**
      * {@code GET  /cords/count} : count all the cords.
      *
@@ -157,6 +212,46 @@ public class CordResource {
         return ResponseEntity.ok().body(cordQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /cords/:id/free-slots} : get the match times at which the "id" cord is free on a day.
+     *
+     * @param id the id of the cord.
+     * @param date the day, in the zone of the courts.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of match times in body.
+     */
+    @GetMapping("/cords/{id}/free-slots")
+    public ResponseEntity<List<Instant>> getFreeSlots(
+        @PathVariable Long id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        log.debug("REST request to get free slots of Cord : {} on {}", id, date);
+        return ResponseEntity.ok().body(bookingService.findFreeSlots(id, date));
+    }
+
+    /**
+     * {@code GET  /cords/nearby} : get the active cords nearest to a location.
+     *
+     * @param lat the latitude of the location, in degrees.
+     * @param lon the longitude of the location, in degrees.
+     * @param radius the maximum distance of the cords, in kilometres.
+     * @param size the maximum number of cords.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cords with their distance in body,
+     * nearest first, or with status {@code 400 (Bad Request)} if the location or radius is not valid.
+     */
+    @GetMapping("/cords/nearby")
+    public ResponseEntity<List<NearbyCordDTO>> getNearbyCords(
+        @RequestParam double lat,
+        @RequestParam double lon,
+        @RequestParam(defaultValue = "10") double radius,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get Cords within {} km of {}, {}", radius, lat, lon);
+        if (Math.abs(lat) > 90 || Math.abs(lon) > 180 || !(radius > 0)) {
+            throw new BadRequestAlertException("Invalid location", ENTITY_NAME, "invalidlocation");
+        }
+        return ResponseEntity.ok().body(nearbyCordService.findNearby(lat, lon, radius, CursorPaginationUtil.pageSize(size)));
+    }
+
     /**
      * {@code GET  /cords/:id} : get the "id" cord.
      *
@@ -0,0 +1,77 @@
+package com.tennisly.club.web.rest;
+
+import com.tennisly.club.domain.enumeration.Level;
+import com.tennisly.club.service.CurrentPlayerContext;
+import com.tennisly.club.service.LeaderboardService;
+import com.tennisly.club.service.dto.LeaderboardEntryDTO;
+import com.tennisly.club.web.util.CursorPaginationUtil;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller for reading the player leaderboards, over all players or within a {@link Level}.
+ */
+@RestController
+@RequestMapping("/api")
+public class LeaderboardResource {
+
+    private final Logger log = LoggerFactory.getLogger(LeaderboardResource.class);
+
+    private final LeaderboardService leaderboardService;
+
+    private final CurrentPlayerContext currentPlayerContext;
+
+    public LeaderboardResource(LeaderboardService leaderboardService, CurrentPlayerContext currentPlayerContext) {
+        this.leaderboardService = leaderboardService;
+        this.currentPlayerContext = currentPlayerContext;
+    }
+
+    /**
+     * {@code GET  /leaderboard} : get the players of a leaderboard from a position, best first.
+     *
+     * @param level the level of the leaderboard, all players if absent.
+     * @param position the position of the first player, from 1.
+     * @param size the maximum number of players.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of ranked players in body.
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(
+        @RequestParam(required = false) Level level,
+        @RequestParam(defaultValue = "1") int position,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get the {} leaderboard from position {}", level, position);
+        return ResponseEntity.ok().body(leaderboardService.findRange(level, position, CursorPaginationUtil.pageSize(size)));
+    }
+
+    /**
+     * {@code GET  /leaderboard/players/:id} : get the rank of the "id" player.
+     *
+     * @param id the id of the player.
+     * @param level the level of the leaderboard, all players if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ranked player,
+     * or with status {@code 404 (Not Found)} if the player is not on that leaderboard.
+     */
+    @GetMapping("/leaderboard/players/{id}")
+    public ResponseEntity<LeaderboardEntryDTO> getRank(@PathVariable Long id, @RequestParam(required = false) Level level) {
+        log.debug("REST request to get the {} leaderboard rank of Player : {}", level, id);
+        return ResponseUtil.wrapOrNotFound(leaderboardService.findRank(id, level));
+    }
+
+    /**
+     * {@code GET  /leaderboard/me} : get the rank of the current player.
+     *
+     * @param level the level of the leaderboard, all players if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the ranked player,
+     * or with status {@code 404 (Not Found)} if the current user has no player on that leaderboard.
+     */
+    @GetMapping("/leaderboard/me")
+    public ResponseEntity<LeaderboardEntryDTO> getOwnRank(@RequestParam(required = false) Level level) {
+        log.debug("REST request to get the {} leaderboard rank of the current Player", level);
+        return ResponseUtil.wrapOrNotFound(currentPlayerContext.getPlayerId().flatMap(id -> leaderboardService.findRank(id, level)));
+    }
+}
@@ -0,0 +1,159 @@
+package com.tennisly.club.web.rest;
+
+import com.tennisly.club.domain.Media;
+import com.tennisly.club.domain.MediaThumbnail;
+import com.tennisly.club.repository.MediaRepository;
+import com.tennisly.club.service.MediaService;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for reading {@link Media}.
+ * <p>
+ * Media ids are content digests, so a response never changes for a given id and size: it is served with a strong
+ * ETag and long-lived cache headers. {@code Content-Length} and {@code Range} requests are handled by Spring MVC
+ * for {@link Resource} bodies. Unknown ids are answered with a 404 even when the client sends an ETag.
+ */
+@RestController
+@RequestMapping("/api")
+public class MediaResource {
+
+    private final Logger log = LoggerFactory.getLogger(MediaResource.class);
+
+    private final MediaService mediaService;
+
+    public MediaResource(MediaService mediaService) {
+        this.mediaService = mediaService;
+    }
+
+    /**
+     * {@code GET  /media/:id} : get the content of the "id" media.
+     *
+     * @param id the id of the media to retrieve.
+     * @param ifNoneMatch the ETag the client already holds, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} or {@code 206 (Partial Content)} and the bytes in body,
+     * with status {@code 304 (Not Modified)} if the client already has it, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/media/{id}")
+    public ResponseEntity<Resource> getMedia(
+        @PathVariable String id,
+        @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        log.debug("REST request to get Media : {}", id);
+        MediaRepository.MediaInfo media = mediaService.findInfo(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        String eTag = "\"" + id + "\"";
+        if (eTag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl()).build();
+        }
+        return ok(eTag, media.getContentType(), new MediaContentResource(mediaService, media));
+    }
+
+    /**
+     * {@code GET  /media/:id/:size} : get the thumbnail of the "id" media whose longest side is "size" pixels.
+     * <p>
+     * Images which are not larger than the requested size, and files which are not images, are served as they are.
+     *
+     * @param id the id of the media to retrieve.
+     * @param size the size key, one of {@link MediaService#THUMBNAIL_SIZES}.
+     * @param ifNoneMatch the ETag the client already holds, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} or {@code 206 (Partial Content)} and the bytes in body,
+     * with status {@code 304 (Not Modified)} if the client already has it, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/media/{id}/{size}")
+    public ResponseEntity<Resource> getMediaThumbnail(
+        @PathVariable String id,
+        @PathVariable int size,
+        @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        log.debug("REST request to get {}px thumbnail of Media : {}", size, id);
+        if (!MediaService.THUMBNAIL_SIZES.contains(size)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        MediaRepository.MediaInfo media = mediaService.findInfo(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        String eTag = "\"" + id + "-" + size + "\"";
+        if (eTag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl()).build();
+        }
+        Optional<MediaThumbnail> thumbnail = mediaService.findThumbnail(id, size);
+        if (thumbnail.isPresent()) {
+            return ok(eTag, thumbnail.get().getContentType(), new ByteArrayResource(thumbnail.get().getContent()));
+        }
+        return ok(eTag, media.getContentType(), new MediaContentResource(mediaService, media));
+    }
+
+    /**
+     * Media is served from the application's origin, so the browser must never render it as anything but an image:
+     * content sniffing is off, and media stored before uploads were limited to images is only downloaded, sandboxed.
+     */
+    private static ResponseEntity<Resource> ok(String eTag, String contentType, Resource content) {
+        ResponseEntity.BodyBuilder response = ResponseEntity
+            .ok()
+            .eTag(eTag)
+            .cacheControl(cacheControl())
+            .header("X-Content-Type-Options", "nosniff");
+        if (MediaService.IMAGE_CONTENT_TYPES.contains(contentType)) {
+            response.contentType(MediaType.parseMediaType(contentType));
+        } else {
+            response
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().build().toString())
+                .header("Content-Security-Policy", "sandbox");
+        }
+        return response.body(content);
+    }
+
+    private static CacheControl cacheControl() {
+        return CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic();
+    }
+
+    /**
+     * The content of stored media, streamed from the database when the response is written. Its length is known
+     * up front, so Spring MVC can set {@code Content-Length} and answer {@code Range} requests, which skip the
+     * chunks before the range instead of reading them.
+     */
+    private static final class MediaContentResource extends AbstractResource {
+
+        private final MediaService mediaService;
+
+        private final MediaRepository.MediaInfo media;
+
+        MediaContentResource(MediaService mediaService, MediaRepository.MediaInfo media) {
+            this.mediaService = mediaService;
+            this.media = media;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return mediaService.openContent(media);
+        }
+
+        @Override
+        public long contentLength() {
+            return media.getContentLength();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Media [" + media.getId() + "]";
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.tennisly.club.web.rest;
 
 import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.enumeration.Gender;
 import com.tennisly.club.repository.PlayerRepository;
+import com.tennisly.club.service.MatchmakingService;
 import com.tennisly.club.service.PlayerQueryService;
 import com.tennisly.club.service.PlayerService;
 import com.tennisly.club.service.criteria.PlayerCriteria;
+import com.tennisly.club.service.dto.OpponentDTO;
 import com.tennisly.club.web.rest.errors.BadRequestAlertException;
+import com.tennisly.club.web.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -16,6 +20,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -45,10 +50,18 @@ public class PlayerResource {
 
     private final PlayerQueryService playerQueryService;
 
-    public PlayerResource(PlayerService playerService, PlayerRepository playerRepository, PlayerQueryService playerQueryService) {
+    private final MatchmakingService matchmakingService;
+
+    public PlayerResource(
+        PlayerService playerService,
+        PlayerRepository playerRepository,
+        PlayerQueryService playerQueryService,
+        MatchmakingService matchmakingService
+    ) {
         this.playerService = playerService;
         this.playerRepository = playerRepository;
         this.playerQueryService = playerQueryService;
+        this.matchmakingService = matchmakingService;
     }
 
     /**
@@ -154,6 +167,34 @@ public class PlayerResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /players?cursor=} : get the players ordered by id, one page at a time and without counting them.
+     * <p>
+     * Send an empty cursor for the first page. While there are more players, the {@code Link} header points to the next page.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param cursor the cursor from the previous {@code Link} header, empty for the first page.
+     * @param size the size of the page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of players in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping(value = "/players", params = "cursor")
+    public ResponseEntity<List<Player>> getPlayersByCursor(
+        PlayerCriteria criteria,
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get Players by criteria: {} after cursor : {}", criteria, cursor);
+        Long afterId = CursorPaginationUtil.decodeIdCursor(cursor, ENTITY_NAME);
+        Slice<Player> slice = playerQueryService.findByCriteria(criteria, afterId, CursorPaginationUtil.pageSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            player -> CursorPaginationUtil.encodeCursor(player.getId())
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
     /**
      * {@code GET  /players/count} : count all the players.
      *
@@ -166,6 +207,22 @@ public class PlayerResource {
         return ResponseEntity.ok().body(playerQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /players/opponents} : suggest opponents to the current player.
+     *
+     * @param gender the gender of the opponents, the current player's if absent.
+     * @param size the maximum number of suggestions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of opponents in body, best first.
+     */
+    @GetMapping("/players/opponents")
+    public ResponseEntity<List<OpponentDTO>> getOpponents(
+        @RequestParam(required = false) Gender gender,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get opponents of gender : {}", gender);
+        return ResponseEntity.ok().body(matchmakingService.findOpponents(gender, CursorPaginationUtil.pageSize(size)));
+    }
+
     /**
      * {@code GET  /players/:id} : get the "id" player.
      *
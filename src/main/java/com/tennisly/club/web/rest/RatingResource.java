@@ -0,0 +1,38 @@
+package com.tennisly.club.web.rest;
+
+import com.tennisly.club.security.AuthoritiesConstants;
+import com.tennisly.club.service.RatingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for administering player ratings.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class RatingResource {
+
+    private final Logger log = LoggerFactory.getLogger(RatingResource.class);
+
+    private final RatingService ratingService;
+
+    public RatingResource(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    /**
+     * {@code POST  /admin/ratings/recompute} : recompute every player rating from the match results, in the background.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)}.
+     */
+    @PostMapping("/ratings/recompute")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> recomputeRatings() {
+        log.debug("REST request to recompute all ratings");
+        ratingService.recomputeAll();
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.tennisly.club.web.rest;
+
+import com.tennisly.club.service.SearchService;
+import com.tennisly.club.service.dto.SearchResultDTO;
+import com.tennisly.club.web.util.CursorPaginationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for searching players and cords by name.
+ */
+@RestController
+@RequestMapping("/api")
+public class SearchResource {
+
+    private final Logger log = LoggerFactory.getLogger(SearchResource.class);
+
+    private final SearchService searchService;
+
+    public SearchResource(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * {@code GET  /search} : search the active players and cords by name, for autocomplete.
+     *
+     * @param q the words to search, the last one possibly incomplete; case, Turkish letters, diacritics and small typos
+     * do not prevent a match.
+     * @param size the maximum number of players, and of cords.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the players and cords found in body, best first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SearchResultDTO> search(
+        @RequestParam String q,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to search : {}", q);
+        return ResponseEntity.ok().body(searchService.search(q, CursorPaginationUtil.pageSize(size)));
+    }
+}
@@ -4,12 +4,12 @@ import com.tennisly.club.config.Constants;
 import com.tennisly.club.domain.User;
 import com.tennisly.club.repository.UserRepository;
 import com.tennisly.club.security.AuthoritiesConstants;
-import com.tennisly.club.service.MailService;
 import com.tennisly.club.service.UserService;
 import com.tennisly.club.service.dto.AdminUserDTO;
 import com.tennisly.club.web.rest.errors.BadRequestAlertException;
 import com.tennisly.club.web.rest.errors.EmailAlreadyUsedException;
 import com.tennisly.club.web.rest.errors.LoginAlreadyUsedException;
+import com.tennisly.club.web.util.CursorPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -85,12 +86,9 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
-
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(UserService userService, UserRepository userRepository) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
     }
 
     /**
@@ -119,7 +117,6 @@ public class UserResource {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
-            mailService.sendCreationEmail(newUser);
             return ResponseEntity
                 .created(new URI("/api/admin/users/" + newUser.getLogin()))
                 .headers(
@@ -176,6 +173,33 @@ public class UserResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET /admin/users?cursor=} : get the users ordered by id, one page at a time and without counting them.
+     * <p>
+     * Send an empty cursor for the first page. While there are more users, the {@code Link} header points to the next page.
+     *
+     * @param cursor the cursor from the previous {@code Link} header, empty for the first page.
+     * @param size the size of the page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the users,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
+     */
+    @GetMapping(value = "/users", params = "cursor")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<AdminUserDTO>> getUsersByCursor(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "" + CursorPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get Users for an admin after cursor : {}", cursor);
+        Long afterId = CursorPaginationUtil.decodeIdCursor(cursor, "userManagement");
+        Slice<AdminUserDTO> slice = userService.getAllManagedUsers(afterId, CursorPaginationUtil.pageSize(size));
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            user -> CursorPaginationUtil.encodeCursor(user.getId())
+        );
+        return new ResponseEntity<>(slice.getContent(), headers, HttpStatus.OK);
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
@@ -0,0 +1,21 @@
+package com.tennisly.club.web.rest.errors;
+
+/**
+ * This exception is thrown when a user, or an anonymous client, used up its budget of requests to a group of
+ * endpoints.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String group, long retryAfterSeconds) {
+        super("Rate limit of " + group + " exceeded, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
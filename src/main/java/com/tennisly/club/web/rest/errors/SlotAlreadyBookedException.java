@@ -0,0 +1,10 @@
+package com.tennisly.club.web.rest.errors;
+
+public class SlotAlreadyBookedException extends BadRequestAlertException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SlotAlreadyBookedException() {
+        super(ErrorConstants.SLOT_ALREADY_BOOKED_TYPE, "Court or player already booked at this time!", "challenge", "slotbooked");
+    }
+}
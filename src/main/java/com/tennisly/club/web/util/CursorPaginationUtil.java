@@ -0,0 +1,127 @@
+package com.tennisly.club.web.util;
+
+import com.tennisly.club.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * A cursor is the sort key of the last element of a page, encoded so that clients treat it as opaque.
+ * The next page is read with a seek on that key instead of an offset, so it costs the same at any depth,
+ * and no total count is computed.
+ */
+public final class CursorPaginationUtil {
+
+    public static final int DEFAULT_SIZE = 20;
+
+    public static final int MAX_SIZE = 100;
+
+    private static final String KEY_SEPARATOR = ",";
+
+    private CursorPaginationUtil() {}
+
+    /**
+     * Encode the sort key of an element into a cursor.
+     *
+     * @param keys the values of the sort key, in sort order.
+     * @return the cursor.
+     */
+    public static String encodeCursor(Object... keys) {
+        String value = Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining(KEY_SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into the values of its sort key.
+     *
+     * @param cursor the cursor sent by the client.
+     * @param length the number of values of the sort key.
+     * @param entityName the entity being paginated, for the error message.
+     * @return the values of the sort key.
+     * @throws BadRequestAlertException if the cursor was not created by {@link #encodeCursor(Object...)} with {@code length} keys.
+     */
+    public static String[] decodeCursor(String cursor, int length, String entityName) {
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(KEY_SEPARATOR, -1);
+            if (keys.length == length) {
+                return keys;
+            }
+        } catch (IllegalArgumentException e) {
+            // reported below
+        }
+        throw invalidCursor(entityName);
+    }
+
+    /**
+     * Decode a cursor made of an entity id.
+     *
+     * @param cursor the cursor sent by the client, empty for the first page.
+     * @param entityName the entity being paginated, for the error message.
+     * @return the id, or {@code null} for the first page.
+     * @throws BadRequestAlertException if the cursor is not an encoded id.
+     */
+    public static Long decodeIdCursor(String cursor, String entityName) {
+        if (cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(decodeCursor(cursor, 1, entityName)[0]);
+        } catch (NumberFormatException e) {
+            throw invalidCursor(entityName);
+        }
+    }
+
+    /**
+     * Create the error for a cursor which cannot be decoded.
+     *
+     * @param entityName the entity being paginated.
+     * @return the error.
+     */
+    public static BadRequestAlertException invalidCursor(String entityName) {
+        return new BadRequestAlertException("Invalid cursor", entityName, "invalidcursor");
+    }
+
+    /**
+     * Bound the page size requested by a client.
+     *
+     * @param size the requested size.
+     * @return the size, between 1 and {@link #MAX_SIZE}.
+     */
+    public static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Generate a {@code Link} header pointing to the next page, if there is one.
+     *
+     * @param uriBuilder the URI of the current page.
+     * @param slice the current page.
+     * @param cursorOf the cursor of an element of the page.
+     * @param <T> the type of the elements.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateCursorPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, String> cursorOf
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            T last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            String link = uriBuilder
+                .replaceQueryParam("cursor", cursorOf.apply(last))
+                .replaceQueryParam("size", slice.getSize())
+                .replaceQueryParam("page")
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
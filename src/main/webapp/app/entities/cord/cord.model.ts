@@ -7,6 +7,7 @@ export interface ICord {
   adress?: string | null;
   imageContentType?: string | null;
   image?: string | null;
+  imageId?: string | null;
   status?: GeneralStatus | null;
   challenge?: IChallenge | null;
 }
@@ -18,6 +19,7 @@ export class Cord implements ICord {
     public adress?: string | null,
     public imageContentType?: string | null,
     public image?: string | null,
+    public imageId?: string | null,
     public status?: GeneralStatus | null,
     public challenge?: IChallenge | null
   ) {}
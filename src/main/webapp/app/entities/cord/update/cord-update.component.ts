@@ -25,6 +25,7 @@ export class CordUpdateComponent implements OnInit {
     name: [],
     adress: [],
     image: [],
+    imageId: [],
     imageContentType: [],
     status: [],
   });
@@ -108,6 +109,7 @@ export class CordUpdateComponent implements OnInit {
       name: cord.name,
       adress: cord.adress,
       image: cord.image,
+      imageId: cord.imageId,
       imageContentType: cord.imageContentType,
       status: cord.status,
     });
@@ -121,6 +123,7 @@ export class CordUpdateComponent implements OnInit {
       adress: this.editForm.get(['adress'])!.value,
       imageContentType: this.editForm.get(['imageContentType'])!.value,
       image: this.editForm.get(['image'])!.value,
+      imageId: this.editForm.get(['imageId'])!.value,
       status: this.editForm.get(['status'])!.value,
     };
   }
@@ -11,6 +11,7 @@ export interface IPlayer {
   phone?: string | null;
   photoContentType?: string | null;
   photo?: string | null;
+  photoId?: string | null;
   status?: GeneralStatus | null;
   internalUser?: IUser | null;
 }
@@ -24,6 +25,7 @@ export class Player implements IPlayer {
     public phone?: string | null,
     public photoContentType?: string | null,
     public photo?: string | null,
+    public photoId?: string | null,
     public status?: GeneralStatus | null,
     public internalUser?: IUser | null
   ) {}
@@ -44,6 +44,7 @@ export class PlayerUpdateComponent implements OnInit {
     level: [],
     phone: [],
     photo: [],
+    photoId: [],
     photoContentType: [],
     status: [],
     internalUser: [],
@@ -147,6 +148,7 @@ export class PlayerUpdateComponent implements OnInit {
       level: player.level,
       phone: player.phone,
       photo: player.photo,
+      photoId: player.photoId,
       photoContentType: player.photoContentType,
       status: player.status,
       internalUser: player.internalUser,
@@ -179,6 +181,7 @@ export class PlayerUpdateComponent implements OnInit {
       phone: this.editForm.get(['phone'])!.value,
       photoContentType: this.editForm.get(['photoContentType'])!.value,
       photo: this.editForm.get(['photo'])!.value,
+      photoId: this.editForm.get(['photoId'])!.value,
       status: this.editForm.get(['status'])!.value,
       internalUser: user,
     };
@@ -0,0 +1,68 @@
+package com.tennisly.club.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tennisly.club.IntegrationTest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks with {@code EXPLAIN} on H2 that the hot queries use the indexes created for them by Liquibase,
+ * and do not fall back to a scan of the whole table.
+ */
+@IntegrationTest
+class QueryIndexIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void challengesOfAPlayerByMatchTimeUseAnIndexPerSide() {
+        assertUsesIndex(
+            "select c.id from challenge c where c.proposer_id = 1 and c.match_time >= timestamp '2026-01-01 00:00:00'" +
+            " order by c.match_time, c.id limit 20",
+            "idx_challenge__proposer_id_match_time"
+        );
+        assertUsesIndex(
+            "select c.id from challenge c where c.acceptor_id = 1 and c.match_time >= timestamp '2026-01-01 00:00:00'" +
+            " order by c.match_time, c.id limit 20",
+            "idx_challenge__acceptor_id_match_time"
+        );
+    }
+
+    @Test
+    void openChallengesAtACourtInATimeWindowUseTheCourtIndex() {
+        assertUsesIndex(
+            "select c.id from challenge c where c.cord_id = 1 and c.challenge_status = 'REQUESTED'" +
+            " and c.match_time between timestamp '2026-01-01 00:00:00' and timestamp '2026-01-02 00:00:00'",
+            "idx_challenge__cord_id_challenge_status_match_time"
+        );
+    }
+
+    @Test
+    void activePlayersByLevelAndGenderUseTheStatusIndex() {
+        assertUsesIndex(
+            "select p.id from player p where p.status = 'ACTIVE' and p.level = 'BEGINNER' and p.gender = 'MALE'",
+            "idx_player__status_level_gender"
+        );
+    }
+
+    @Test
+    void referencedMediaLookupsUseTheMediaIdIndexes() {
+        String query =
+            "select m.id from media m where m.id not in (select p.photo_id from player p where p.photo_id is not null)" +
+            " and m.id not in (select c.image_id from cord c where c.image_id is not null)";
+        assertThat(explain(query)).containsIgnoringCase("idx_player__photo_id").containsIgnoringCase("idx_cord__image_id");
+    }
+
+    private void assertUsesIndex(String query, String index) {
+        assertThat(explain(query)).containsIgnoringCase(index).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private String explain(String query) {
+        List<String> plan = jdbcTemplate.queryForList("explain " + query, String.class);
+        return String.join("\n", plan);
+    }
+}
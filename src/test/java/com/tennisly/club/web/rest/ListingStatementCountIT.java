@@ -0,0 +1,164 @@
+package com.tennisly.club.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.tennisly.club.IntegrationTest;
+import com.tennisly.club.domain.Challenge;
+import com.tennisly.club.domain.Cord;
+import com.tennisly.club.domain.Player;
+import com.tennisly.club.domain.User;
+import com.tennisly.club.domain.enumeration.ChallengeStatus;
+import com.tennisly.club.domain.enumeration.GeneralStatus;
+import com.tennisly.club.repository.ChallengeRepository;
+import com.tennisly.club.repository.CordRepository;
+import com.tennisly.club.repository.PlayerRepository;
+import com.tennisly.club.repository.UserRepository;
+import com.tennisly.club.service.CurrentPlayerContext;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Counts with Hibernate statistics the SQL statements of the challenge and player listings, which must not grow
+ * with the number of rows: associations are fetched with the rows, not with one select each.
+ * <p>
+ * A listing is one statement, plus the two lookups of the current user and player when their ids are not cached yet.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(ListingStatementCountIT.LOGIN)
+class ListingStatementCountIT {
+
+    static final String LOGIN = "statement-count";
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private CordRepository cordRepository;
+
+    @Autowired
+    private ChallengeRepository challengeRepository;
+
+    @Autowired
+    private CurrentPlayerContext currentPlayerContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Player currentPlayer;
+
+    private Cord cord;
+
+    private final List<Challenge> challenges = new ArrayList<>();
+
+    private final List<Player> players = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        currentPlayer = createPlayer(LOGIN);
+        cord = cordRepository.save(new Cord().name("Center court").status(GeneralStatus.ACTIVE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        challengeRepository.deleteAll(challenges);
+        cordRepository.delete(cord);
+        players.forEach(player -> {
+            playerRepository.delete(player);
+            userRepository.delete(player.getInternalUser());
+        });
+        currentPlayerContext.evictAll();
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void challengeListingRunsAFixedNumberOfStatements() throws Exception {
+        createChallenges(2);
+        assertThat(countStatements("/api/challenges?size=20", false)).isEqualTo(3);
+        assertThat(countStatements("/api/challenges?size=20", true)).isEqualTo(1);
+
+        createChallenges(10);
+        assertThat(countStatements("/api/challenges?size=20", false)).isEqualTo(3);
+        assertThat(countStatements("/api/challenges?size=20", true)).isEqualTo(1);
+    }
+
+    @Test
+    void playerListingRunsAFixedNumberOfStatements() throws Exception {
+        createChallenges(2);
+        assertThat(countStatements("/api/players?size=20", false)).isEqualTo(3);
+        assertThat(countStatements("/api/players?size=20", true)).isEqualTo(1);
+
+        createChallenges(10);
+        assertThat(countStatements("/api/players?size=20", false)).isEqualTo(3);
+        assertThat(countStatements("/api/players?size=20", true)).isEqualTo(1);
+    }
+
+    /**
+     * Run a listing as the current player and count its statements.
+     *
+     * @param cached whether the ids of the current user and player are already cached.
+     */
+    private long countStatements(String url, boolean cached) throws Exception {
+        currentPlayerContext.evictAll();
+        if (cached) {
+            restMockMvc.perform(get(url)).andExpect(status().isOk());
+        }
+        statistics.clear();
+        restMockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createChallenges(int count) {
+        for (int i = 0; i < count; i++) {
+            Player opponent = createPlayer("statement-count-" + RandomStringUtils.randomAlphanumeric(8).toLowerCase());
+            challenges.add(
+                challengeRepository.save(
+                    new Challenge()
+                        .matchTime(Instant.now().plus(challenges.size() + 1, ChronoUnit.DAYS))
+                        .challengeStatus(ChallengeStatus.REQUESTED)
+                        .status(GeneralStatus.ACTIVE)
+                        .cord(cord)
+                        .proposer(i % 2 == 0 ? currentPlayer : opponent)
+                        .acceptor(i % 2 == 0 ? opponent : currentPlayer)
+                )
+            );
+        }
+    }
+
+    private Player createPlayer(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setPassword(RandomStringUtils.random(60));
+        user.setActivated(true);
+        user.setLangKey("en");
+        user = userRepository.save(user);
+        Player player = playerRepository.save(new Player().fullName("Player " + login).status(GeneralStatus.ACTIVE).internalUser(user));
+        players.add(player);
+        return player;
+    }
+}